@@ -0,0 +1,18 @@
+package com.joshtechnologygroup.minisocial.benchmark;
+
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+
+final class BenchmarkFixtures {
+    static final String JWT_KEY = "uOG/GhZwQ8xGxZJ/kpez1kivocjQAm6XY2D4px/VGqQ=";
+    static final String EMAIL = "bench@abc.com";
+    static final long USER_ID = 42L;
+
+    private BenchmarkFixtures() { }
+
+    static ApiConfig apiConfig() {
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.setJwtKey(JWT_KEY);
+        apiConfig.setJwtExpiry(1000L * 60 * 60 * 4);
+        return apiConfig;
+    }
+}
@@ -0,0 +1,71 @@
+package com.joshtechnologygroup.minisocial.benchmark;
+
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtil with its pre-built key and parser against deriving the key and building a parser on every
+// call, which is what JwtUtil used to do
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(BenchmarkFixtures.apiConfig());
+        token = jwtUtil.generateToken(BenchmarkFixtures.EMAIL, BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(BenchmarkFixtures.EMAIL, BenchmarkFixtures.USER_ID);
+    }
+
+    @Benchmark
+    public String generateTokenKeyPerCall() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claims(Map.of("id", BenchmarkFixtures.USER_ID))
+                .subject(BenchmarkFixtures.EMAIL)
+                .header().empty().add("typ", "JWT")
+                .and()
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + 1000L * 60 * 60 * 4))
+                .signWith(key())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims extractAllClaimsKeyPerCall() {
+        return Jwts.parser()
+                .verifyWith(key())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    private static SecretKey key() {
+        return Keys.hmacShaKeyFor(BenchmarkFixtures.JWT_KEY.getBytes(StandardCharsets.UTF_8));
+    }
+}
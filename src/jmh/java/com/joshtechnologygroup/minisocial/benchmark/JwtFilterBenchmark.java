@@ -0,0 +1,69 @@
+package com.joshtechnologygroup.minisocial.benchmark;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.cache.LocalUserCacheInvalidationChannel;
+import com.joshtechnologygroup.minisocial.filter.JwtFilter;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.service.TokenRevocationService;
+import com.joshtechnologygroup.minisocial.service.UserDetailsServiceImpl;
+import com.joshtechnologygroup.minisocial.util.JwtClaimsCache;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// One authenticated request through JwtFilter. UserDetailsServiceImpl is real but backed by a stubbed
+// repository, so after the first call user lookups are cache hits like in a warm server.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JwtFilterBenchmark {
+    @Param({"false", "true"})
+    public boolean statelessAuth;
+
+    private JwtFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        ApiConfig apiConfig = BenchmarkFixtures.apiConfig();
+        apiConfig.setStatelessAuth(statelessAuth);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        User user = new User();
+        user.setId(BenchmarkFixtures.USER_ID);
+        user.setEmail(BenchmarkFixtures.EMAIL);
+        user.setPassword("{noop}unused");
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findFreshByEmail(anyString())).thenReturn(Optional.of(user));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepository, new LocalUserCacheInvalidationChannel(), apiConfig, meterRegistry);
+
+        JwtUtil jwtUtil = new JwtUtil(apiConfig);
+        filter = new JwtFilter(new JwtClaimsCache(jwtUtil, apiConfig, meterRegistry), userDetailsService, new TokenRevocationService(apiConfig), apiConfig, meterRegistry);
+
+        request = new MockHttpServletRequest("GET", "/api/user/me");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(BenchmarkFixtures.EMAIL, BenchmarkFixtures.USER_ID));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilter(request, response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,42 @@
+package com.joshtechnologygroup.minisocial.benchmark;
+
+import com.joshtechnologygroup.minisocial.dto.UpdatePasswordRequest;
+import com.joshtechnologygroup.minisocial.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+// GlobalExceptionHandler turning a request body with three invalid fields into a ProblemDetail
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ValidationErrorBenchmark {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private MethodArgumentNotValidException exception;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        UpdatePasswordRequest body = new UpdatePasswordRequest("not-an-email", "short", "short");
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(body, "updatePasswordRequest");
+        bindingResult.addError(new FieldError("updatePasswordRequest", "email", "Invalid Email format"));
+        bindingResult.addError(new FieldError("updatePasswordRequest", "oldPassword", "Password must be between 8 and 255 characters long"));
+        bindingResult.addError(new FieldError("updatePasswordRequest", "newPassword", "Password must be between 8 and 255 characters long"));
+
+        MethodParameter parameter = new MethodParameter(
+                ValidationErrorBenchmark.class.getDeclaredMethod("endpoint", UpdatePasswordRequest.class), 0);
+        exception = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ProblemDetail handleValidationErrors() {
+        return handler.handleValidationErrors(exception);
+    }
+
+    @SuppressWarnings("unused")
+    private void endpoint(UpdatePasswordRequest request) { }
+}
@@ -0,0 +1,19 @@
+package com.joshtechnologygroup.minisocial.bean;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A single edge of the follower graph, lets the edge table be queried without loading User collections
+@Data
+@Entity
+@Table(name = "followers")
+@NoArgsConstructor
+@AllArgsConstructor
+public class Follow {
+    @EmbeddedId
+    private FollowId id;
+}
@@ -0,0 +1,23 @@
+package com.joshtechnologygroup.minisocial.bean;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class FollowId implements Serializable {
+    // The user being followed
+    @Column(name = "followed_user", nullable = false)
+    private Long followedUser;
+
+    // The user who follows
+    @Column(name = "following_user", nullable = false)
+    private Long followingUser;
+}
@@ -0,0 +1,37 @@
+package com.joshtechnologygroup.minisocial.bean;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "posts")
+public class Post {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Size(max = 1000)
+    @NotNull
+    @Column(name = "content", nullable = false, length = 1000)
+    private String content;
+
+    // False when followers read this post through fan-out-on-read instead of their timelines
+    @Column(name = "fanned_out", nullable = false)
+    private boolean fannedOut;
+
+    @Column(name = "created_at")
+    @CreationTimestamp(source = SourceType.DB)
+    private Instant createdAt;
+}
@@ -1,30 +1,55 @@
 package com.joshtechnologygroup.minisocial.bean;
 
+import com.joshtechnologygroup.minisocial.web.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
+import java.util.Objects;
 import java.util.Set;
 
-@Data
+// Not @Data: generated equals/hashCode/toString would walk the lazy follower collections.
+// Identity is the database id, hashCode is constant per class so it survives the id being assigned on persist.
+@Getter
+@Setter
+@ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.USER_EMAIL_REGION)
 @Table(name = "users")
 public class User {
+    // Row of id_allocations the user ids are drawn from, shared with UserImportJdbcRepository
+    public static final String ID_ALLOCATION = "users";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Ids are reserved in blocks (pooled-lo, see hibernate.id.optimizer.pooled.preferred) instead of IDENTITY,
+    // so Hibernate knows the id before the INSERT and can batch users rows and their @MapsId detail rows
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = "id_allocations", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = ID_ALLOCATION, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
+    // Resolved through the natural id cache by UserRepository.findByEmail
+    @NaturalId(mutable = true)
     @Size(max = 255)
     @NotNull
     @Column(name = "email", nullable = false)
     private String email;
 
+    @ToString.Exclude
     @Size(max = 512)
     @NotNull
     @Column(name = "password", nullable = false, length = 512)
@@ -33,17 +58,28 @@ public class User {
     @Column(name = "active")
     private Boolean active;
 
+    // JVM clock: database generated values would have to be read back after every INSERT/UPDATE, which disables batching
     @Column(name = "created_at")
-    @CreationTimestamp(source = SourceType.DB)
+    @CreationTimestamp
     private Instant createdAt;
 
     @Column(name = "last_modified")
-    @UpdateTimestamp(source = SourceType.DB)
+    @UpdateTimestamp
     private Instant lastModified;
 
+    // Maintained by FollowService and FollowCounterReconciler with direct updates, never written through the entity.
+    // Those updates bypass Hibernate, FollowCounterCacheEvictor drops the second-level cached copies after them.
+    @Column(name = "follower_count", nullable = false, insertable = false, updatable = false)
+    private long followerCount;
+
+    @Column(name = "following_count", nullable = false, insertable = false, updatable = false)
+    private long followingCount;
+
+    @ToString.Exclude
     @ManyToMany(mappedBy = "followers")
     Set<User> followed;
 
+    @ToString.Exclude
     @ManyToMany
     @JoinTable(
             name = "followers",
@@ -51,4 +87,16 @@ public class User {
             inverseJoinColumns = @JoinColumn(name = "following_user")
     )
     Set<User> followers;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof User other)) return false;
+        return id != null && Objects.equals(id, other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
@@ -2,22 +2,34 @@ package com.joshtechnologygroup.minisocial.bean;
 
 import com.joshtechnologygroup.minisocial.enums.Gender;
 import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.search.TypeaheadEntityListener;
+import com.joshtechnologygroup.minisocial.web.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USER_DETAIL_REGION)
+@EntityListeners(TypeaheadEntityListener.class)
 @Table(name = "user_details")
 public class UserDetail {
     @Id
     @Column(nullable = false)
     private Long userId;
 
+    // Excluded so equals/hashCode/toString never initialise the lazy proxy
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @MapsId
     @OneToOne(fetch = FetchType.LAZY, optional = false)
     @OnDelete(action = OnDeleteAction.CASCADE)
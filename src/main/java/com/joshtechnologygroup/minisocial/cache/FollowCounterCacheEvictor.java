@@ -0,0 +1,31 @@
+package com.joshtechnologygroup.minisocial.cache;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Follow counters are changed with direct updates that Hibernate can not see, so the second-level
+// cached User rows carrying them are evicted once the change is committed
+@Component
+public class FollowCounterCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public FollowCounterCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(User.class, event.followerId());
+        event.targetIds().forEach(targetId -> cache.evict(User.class, targetId));
+    }
+
+    // After counter reconciliation, which may have touched any user
+    public void evictAll() {
+        entityManagerFactory.getCache().evict(User.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.joshtechnologygroup.minisocial.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Single node channel, delivers evictions synchronously to local subscribers.
+// A multi-node channel should be registered as @Primary to take its place.
+@Component
+public class LocalUserCacheInvalidationChannel implements UserCacheInvalidationChannel {
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String email) {
+        listeners.forEach(listener -> listener.accept(email));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,11 @@
+package com.joshtechnologygroup.minisocial.cache;
+
+import java.util.function.Consumer;
+
+// Broadcasts user cache evictions to every node that holds a copy.
+// Implementations backed by a message broker can replace the in-process default.
+public interface UserCacheInvalidationChannel {
+    void publish(String email);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+// Principal placed in the SecurityContext by JwtFilter, built from the JWT claims
+public record AuthenticatedUser(
+        Long id,
+        String email
+) { }
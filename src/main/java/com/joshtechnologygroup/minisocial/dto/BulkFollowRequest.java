@@ -0,0 +1,13 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkFollowRequest(
+        @NotEmpty(message = "At least one user id is required")
+        @Size(max = 500, message = "At most 500 user ids can be sent in one request")
+        List<@NotNull(message = "User id must not be null") Long> userIds
+) { }
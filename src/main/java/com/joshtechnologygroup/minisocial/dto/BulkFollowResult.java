@@ -0,0 +1,9 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import java.util.List;
+
+// changed holds the ids whose edge was actually created or removed
+public record BulkFollowResult(
+        int requested,
+        List<Long> changed
+) { }
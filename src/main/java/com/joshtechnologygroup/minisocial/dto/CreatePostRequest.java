@@ -0,0 +1,10 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreatePostRequest(
+        @NotBlank(message = "Content is required")
+        @Size(max = 1000, message = "Content must not exceed 1000 characters")
+        String content
+) { }
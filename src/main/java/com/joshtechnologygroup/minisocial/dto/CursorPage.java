@@ -0,0 +1,19 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset paginated list, nextCursor is null on the last page
+public record CursorPage<T>(
+        List<T> items,
+        Long nextCursor
+) {
+    // Builds a page from a query that fetched limit + 1 rows, the extra row only signals a next page
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> cursor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursor.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+public record FollowCounts(
+        Long userId,
+        long followers,
+        long following
+) { }
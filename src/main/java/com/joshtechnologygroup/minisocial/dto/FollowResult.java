@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+// changed is false when the request was a no-op (already following / not following)
+public record FollowResult(
+        Long userId,
+        boolean changed
+) { }
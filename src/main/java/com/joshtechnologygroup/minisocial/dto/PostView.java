@@ -0,0 +1,10 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import java.time.Instant;
+
+public record PostView(
+        Long id,
+        Long authorId,
+        String content,
+        Instant createdAt
+) { }
@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+// mutualCount: how many of the viewer's followed users follow this user
+public record Recommendation(
+        Long userId,
+        int mutualCount
+) { }
@@ -0,0 +1,8 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+// following: the viewer follows this user, followedBy: this user follows the viewer
+public record Relationship(
+        Long userId,
+        boolean following,
+        boolean followedBy
+) { }
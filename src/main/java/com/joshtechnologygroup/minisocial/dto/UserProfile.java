@@ -0,0 +1,34 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+
+import java.time.Instant;
+
+// Read model of a full profile, built from one joined query. Sections are null when the user has no such row.
+// Other users only get the publicView of it.
+public record UserProfile(
+        Long id,
+        String email,
+        Boolean active,
+        Instant createdAt,
+        long followerCount,
+        long followingCount,
+        Personal personal,
+        Residential residential,
+        Official official
+) {
+    // Name and counts only: no email, age, addresses, contact numbers or employer
+    public UserProfile publicView() {
+        return new UserProfile(id, null, null, null, followerCount, followingCount,
+                personal == null ? null : new Personal(personal.firstName(), personal.lastName(), null, null, null),
+                null, null);
+    }
+
+    public record Personal(String firstName, String lastName, Integer age, Gender gender, MaritalStatus maritalStatus) { }
+
+    public record Residential(String address, String city, String state, String country, String contactNo1, String contactNo2) { }
+
+    public record Official(String employeeCode, String address, String city, String state, String country,
+                           String companyContactNo, String companyContactEmail, String companyName) { }
+}
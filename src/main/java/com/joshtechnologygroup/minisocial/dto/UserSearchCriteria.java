@@ -0,0 +1,13 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+
+// All filters are optional and combined with AND
+public record UserSearchCriteria(
+        Integer minAge,
+        Integer maxAge,
+        MaritalStatus maritalStatus,
+        String city,
+        String officialCity,
+        String companyName
+) { }
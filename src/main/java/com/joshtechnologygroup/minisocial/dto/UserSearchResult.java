@@ -0,0 +1,13 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+
+public record UserSearchResult(
+        Long id,
+        String firstName,
+        String lastName,
+        Integer age,
+        MaritalStatus maritalStatus,
+        String city,
+        String companyName
+) { }
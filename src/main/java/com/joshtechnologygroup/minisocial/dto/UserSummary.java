@@ -0,0 +1,12 @@
+package com.joshtechnologygroup.minisocial.dto;
+
+// Lightweight projection of a user for list views
+public interface UserSummary {
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,12 @@
+package com.joshtechnologygroup.minisocial.event;
+
+import com.joshtechnologygroup.minisocial.outbox.OutboxEvent;
+
+import java.util.List;
+
+// Published by FollowService for edges that were actually created (followed = true) or removed
+public record FollowChangedEvent(
+        Long followerId,
+        List<Long> targetIds,
+        boolean followed
+) implements OutboxEvent { }
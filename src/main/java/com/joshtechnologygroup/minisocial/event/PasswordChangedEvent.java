@@ -0,0 +1,12 @@
+package com.joshtechnologygroup.minisocial.event;
+
+import com.joshtechnologygroup.minisocial.outbox.OutboxEvent;
+
+import java.time.Instant;
+
+// Published after a user's password has been updated
+public record PasswordChangedEvent(
+        Long userId,
+        String email,
+        Instant changedAt
+) implements OutboxEvent { }
@@ -0,0 +1,10 @@
+package com.joshtechnologygroup.minisocial.event;
+
+import com.joshtechnologygroup.minisocial.outbox.OutboxEvent;
+
+// Published by FeedService, fannedOut is false for posts that followers pull at read time
+public record PostCreatedEvent(
+        Long postId,
+        Long authorId,
+        boolean fannedOut
+) implements OutboxEvent { }
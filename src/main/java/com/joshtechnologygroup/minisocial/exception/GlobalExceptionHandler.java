@@ -1,10 +1,15 @@
 package com.joshtechnologygroup.minisocial.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -22,14 +27,32 @@ public class GlobalExceptionHandler {
 
         return problemDetail;
     }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ProblemDetail handleUserNotFoundException(UserNotFoundException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.NOT_FOUND,
+                e.getMessage()
+        );
+        problemDetail.setTitle("User not found");
+
+        return problemDetail;
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ProblemDetail handleInvalidRequestException(InvalidRequestException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                e.getMessage()
+        );
+        problemDetail.setTitle("Invalid request");
+
+        return problemDetail;
+    }
+
     // Validation Exception Handler
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidationErrors(MethodArgumentNotValidException ex) {
-        // Create a standard RFC 7807 ProblemDetail object
-        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.UNPROCESSABLE_CONTENT);
-        problemDetail.setTitle("Validation Failed");
-        problemDetail.setDetail("One or more fields in the request are invalid.");
-
         // Extract each specific field error and message
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult()
@@ -38,12 +61,72 @@ public class GlobalExceptionHandler {
                         errors.put(error.getField(), error.getDefaultMessage())
                 );
 
+        return validationProblem(HttpStatus.UNPROCESSABLE_CONTENT, errors);
+    }
+
+    // @Min/@Max/@Size on request parameters of @Validated controllers, checked by the method validation proxy
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation -> {
+            // The path is method.parameter, the parameter name is the last node
+            String parameter = null;
+            for (Path.Node node : violation.getPropertyPath()) parameter = node.getName();
+            errors.put(parameter, violation.getMessage());
+        });
+
+        return validationProblem(HttpStatus.BAD_REQUEST, errors);
+    }
+
+    // The same constraints when Spring MVC's built-in method validation checks them
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ProblemDetail handleHandlerMethodValidation(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getParameterValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())
+        ));
+
+        return validationProblem(HttpStatus.BAD_REQUEST, errors);
+    }
+
+    private static ProblemDetail validationProblem(HttpStatus status, Map<String, String> errors) {
+        // Create a standard RFC 7807 ProblemDetail object
+        ProblemDetail problemDetail = ProblemDetail.forStatus(status);
+        problemDetail.setTitle("Validation Failed");
+        problemDetail.setDetail("One or more fields in the request are invalid.");
+
         // Add the field-level errors as custom properties
         problemDetail.setProperty("invalid_params", errors);
 
         return problemDetail;
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleServiceOverloadedException(ServiceOverloadedException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                e.getMessage()
+        );
+        problemDetail.setTitle("Service Unavailable");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ProblemDetail> handleRateLimitExceededException(RateLimitExceededException e) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                e.getMessage()
+        );
+        problemDetail.setTitle("Too Many Requests");
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(problemDetail);
+    }
+
     // Default Exception Handler
     @ExceptionHandler(MiniSocialException.class)
     public ProblemDetail handleMiniSocialException(MiniSocialException e) {
@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.exception;
+
+public class InvalidRequestException extends MiniSocialException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
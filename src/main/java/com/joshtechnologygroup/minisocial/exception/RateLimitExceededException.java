@@ -0,0 +1,14 @@
+package com.joshtechnologygroup.minisocial.exception;
+
+import lombok.Getter;
+
+// Thrown when a client used up its request allowance, mapped to 429 with Retry-After
+@Getter
+public class RateLimitExceededException extends MiniSocialException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.joshtechnologygroup.minisocial.exception;
+
+import lombok.Getter;
+
+// Thrown when a bounded resource has no capacity left, mapped to 503 with Retry-After
+@Getter
+public class ServiceOverloadedException extends MiniSocialException {
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
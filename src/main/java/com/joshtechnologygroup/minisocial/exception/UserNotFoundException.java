@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.exception;
+
+public class UserNotFoundException extends MiniSocialException {
+    public UserNotFoundException(Long userId) {
+        super("User with id " + userId + " not found");
+    }
+}
@@ -0,0 +1,84 @@
+package com.joshtechnologygroup.minisocial.feed;
+
+import com.joshtechnologygroup.minisocial.event.PostCreatedEvent;
+import com.joshtechnologygroup.minisocial.repository.FeedJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fan-out-on-write: pushes new post ids into the live timelines of the author's followers.
+// Runs on an in-process bounded queue; when it is full the committing request thread does the
+// fan-out itself, which slows posting down instead of dropping deliveries.
+@Component
+@Slf4j
+public class FanOutWorker {
+    private final TimelineStore timelineStore;
+    private final FeedJdbcRepository feedJdbcRepository;
+    private final ThreadPoolExecutor executor;
+    private final Timer fanOutTimer;
+    private final Counter deliveries;
+
+    public FanOutWorker(TimelineStore timelineStore, FeedJdbcRepository feedJdbcRepository, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.timelineStore = timelineStore;
+        this.feedJdbcRepository = feedJdbcRepository;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                apiConfig.getFeedFanOutThreads(),
+                apiConfig.getFeedFanOutThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(apiConfig.getFeedFanOutQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "feed-fanout-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.fanOutTimer = Timer.builder("feed.fanout.time")
+                .description("Time to push one post into its author's followers' timelines")
+                .register(meterRegistry);
+        this.deliveries = Counter.builder("feed.fanout.deliveries")
+                .description("Post ids pushed into live timelines")
+                .register(meterRegistry);
+        Gauge.builder("feed.fanout.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    // After commit, so no follower ever sees a post that was rolled back
+    @TransactionalEventListener
+    public void onPostCreated(PostCreatedEvent event) {
+        if (event.fannedOut()) {
+            executor.execute(() -> fanOut(event.postId(), event.authorId()));
+        }
+    }
+
+    void fanOut(long postId, long authorId) {
+        if (timelineStore.isEmpty()) return;
+        try {
+            fanOutTimer.record(() -> feedJdbcRepository.forEachFollower(authorId, followerId -> {
+                if (timelineStore.deliver(followerId, postId)) deliveries.increment();
+            }));
+        } catch (RuntimeException e) {
+            // Some live timelines may be missing the post; drop them all so they are seeded again
+            log.error("Fan-out of post {} by user {} failed, invalidating timelines", postId, authorId, e);
+            timelineStore.invalidateAll();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
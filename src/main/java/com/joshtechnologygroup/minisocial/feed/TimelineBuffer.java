@@ -0,0 +1,77 @@
+package com.joshtechnologygroup.minisocial.feed;
+
+// Newest pushed post ids for one user, kept sorted ascending in a fixed size ring so the usual insert
+// (a brand new post) is an append. Once the oldest id has been dropped to make room the buffer is
+// truncated: it no longer covers everything older than its oldest entry.
+public final class TimelineBuffer {
+    private final long[] ids;
+    private int head;
+    private int size;
+    private boolean truncated;
+    private volatile boolean seeded;
+    final Object seedLock = new Object();
+
+    public TimelineBuffer(int capacity) {
+        this.ids = new long[capacity];
+    }
+
+    public synchronized void add(long id) {
+        int position = lowerBound(id);
+        if (position < size && at(position) == id) return;
+        if (size == ids.length) {
+            truncated = true;
+            if (position == 0) return;
+            head = (head + 1) % ids.length;
+            size--;
+            position--;
+        }
+        for (int i = size; i > position; i--) {
+            ids[(head + i) % ids.length] = ids[(head + i - 1) % ids.length];
+        }
+        ids[(head + position) % ids.length] = id;
+        size++;
+    }
+
+    // Up to limit ids lower than before, newest first
+    public synchronized long[] before(long before, int limit) {
+        int end = lowerBound(before);
+        long[] result = new long[Math.min(limit, end)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = at(end - 1 - i);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    boolean isSeeded() {
+        return seeded;
+    }
+
+    synchronized void markSeeded(boolean moreInDatabase) {
+        truncated |= moreInDatabase;
+        seeded = true;
+    }
+
+    private long at(int index) {
+        return ids[(head + index) % ids.length];
+    }
+
+    // First logical index whose id is >= value
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (at(mid) < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
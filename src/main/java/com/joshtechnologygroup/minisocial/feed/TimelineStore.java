@@ -0,0 +1,71 @@
+package com.joshtechnologygroup.minisocial.feed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import com.joshtechnologygroup.minisocial.repository.FeedJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Precomputed timelines of recently active users. Memory is bounded by the number of cached users
+// times the buffer capacity; a user whose timeline was evicted gets it seeded again from the database.
+@Component
+public class TimelineStore {
+    private final FeedJdbcRepository feedJdbcRepository;
+    private final Cache<Long, TimelineBuffer> timelines;
+    private final int capacity;
+
+    public TimelineStore(FeedJdbcRepository feedJdbcRepository, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.feedJdbcRepository = feedJdbcRepository;
+        this.capacity = apiConfig.getFeedTimelineCapacity();
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(apiConfig.getFeedTimelineMaxUsers())
+                .expireAfterAccess(apiConfig.getFeedTimelineIdleTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "feed.timelines");
+    }
+
+    // The empty buffer is published before the seed query runs, so posts fanned out meanwhile land in it
+    // instead of being missed; ids seen by both are de-duplicated by the buffer
+    public TimelineBuffer timeline(long userId) {
+        TimelineBuffer buffer = timelines.get(userId, id -> new TimelineBuffer(capacity));
+        if (!buffer.isSeeded()) {
+            synchronized (buffer.seedLock) {
+                if (!buffer.isSeeded()) {
+                    List<Long> ids = feedJdbcRepository.findFeedIds(userId, true, Long.MAX_VALUE, capacity);
+                    ids.forEach(buffer::add);
+                    buffer.markSeeded(ids.size() == capacity);
+                }
+            }
+        }
+        return buffer;
+    }
+
+    // Only live timelines are updated, returns false if the user has none
+    public boolean deliver(long userId, long postId) {
+        TimelineBuffer buffer = timelines.getIfPresent(userId);
+        if (buffer == null) return false;
+        buffer.add(postId);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return timelines.estimatedSize() == 0;
+    }
+
+    public void invalidateAll() {
+        timelines.invalidateAll();
+    }
+
+    // The follower's set of authors changed, the timeline is seeded again on the next read
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        timelines.invalidate(event.followerId());
+    }
+}
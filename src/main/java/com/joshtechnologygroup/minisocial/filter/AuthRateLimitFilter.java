@@ -0,0 +1,197 @@
+package com.joshtechnologygroup.minisocial.filter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.joshtechnologygroup.minisocial.exception.InvalidRequestException;
+import com.joshtechnologygroup.minisocial.exception.RateLimitExceededException;
+import com.joshtechnologygroup.minisocial.ratelimit.RateLimit;
+import com.joshtechnologygroup.minisocial.ratelimit.RateLimiter;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Token bucket limits on the login endpoint, per client address and per email, checked before JwtFilter
+// and long before the BCrypt comparison, so a rejected attempt costs a map lookup and a small JSON parse.
+// The client address is the remote address; behind a proxy set server.forward-headers-strategy accordingly.
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    static final String LOGIN_PATH = "/api/user/authenticate";
+    // UserLogin allows 255 characters per field, anything far beyond that is not a login attempt
+    static final int MAX_BODY_BYTES = 4096;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final boolean enabled;
+    private final RateLimit ipLimit;
+    private final RateLimit emailLimit;
+    private final Counter ipRejected;
+    private final Counter emailRejected;
+
+    public AuthRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper,
+                               @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                               ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.exceptionResolver = exceptionResolver;
+        this.enabled = apiConfig.isAuthRateLimitEnabled();
+        this.ipLimit = new RateLimit(apiConfig.getAuthRateLimitIpCapacity(), apiConfig.getAuthRateLimitIpPeriod());
+        this.emailLimit = new RateLimit(apiConfig.getAuthRateLimitEmailCapacity(), apiConfig.getAuthRateLimitEmailPeriod());
+        this.ipRejected = rejectedCounter(meterRegistry, "ip");
+        this.emailRejected = rejectedCounter(meterRegistry, "email");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String limit) {
+        return Counter.builder("auth.ratelimit.rejected")
+                .description("Login attempts rejected by AuthRateLimitFilter")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !request.getRequestURI().equals(request.getContextPath() + LOGIN_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String address = request.getRemoteAddr();
+        long wait = rateLimiter.tryAcquire("ip:" + address, ipLimit);
+        if (wait > 0) {
+            ipRejected.increment();
+            log.debug("Login rate limit exceeded for address {}", address);
+            reject(request, response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            exceptionResolver.resolveException(request, response, null, new InvalidRequestException("Request body too large"));
+            return;
+        }
+
+        // Without a readable email the request is rejected by the controller before any password check
+        String email = email(body);
+        if (email != null) {
+            wait = rateLimiter.tryAcquire("email:" + email, emailLimit);
+            if (wait > 0) {
+                emailRejected.increment();
+                log.debug("Login rate limit exceeded for user {}", email);
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    // Only the email of a UserLogin body; unknown fields are ignored so they cannot be used to skip the email limit
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record LoginEmail(String email) { }
+
+    // Lower-cased so that case variants of one address share a bucket
+    private String email(byte[] body) {
+        try {
+            LoginEmail login = objectMapper.readValue(body, LoginEmail.class);
+            return login == null || login.email() == null ? null : login.email().trim().toLowerCase(Locale.ROOT);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        exceptionResolver.resolveException(request, response, null,
+                new RateLimitExceededException("Too many login attempts, try again later", retryAfterSeconds));
+    }
+
+    // The body was consumed to read the email, the rest of the chain reads it again from here
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available at once and then fully read
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) readListener.onDataAvailable();
+                        if (isFinished()) readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
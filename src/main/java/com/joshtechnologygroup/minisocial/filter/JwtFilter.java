@@ -1,8 +1,15 @@
 package com.joshtechnologygroup.minisocial.filter;
 
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.service.TokenRevocationService;
 import com.joshtechnologygroup.minisocial.service.UserDetailsServiceImpl;
-import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import com.joshtechnologygroup.minisocial.util.JwtClaimsCache;
+import com.joshtechnologygroup.minisocial.util.OutcomeTimers;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,59 +17,103 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Component
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
-    JwtUtil jwtUtil;
+    static final String SUCCESS = "success";
+    static final String MISSING_HEADER = "missing_header";
+    static final String INVALID_TOKEN = "invalid_token";
+    static final String NO_SUBJECT = "no_subject";
+    static final String REVOKED = "revoked";
+    static final String UNKNOWN_USER = "unknown_user";
+
+    private final JwtClaimsCache claimsCache;
 
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ApiConfig apiConfig;
+    private final OutcomeTimers filterTimers;
+    private final OutcomeTimers verifyTimers;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtFilter(JwtClaimsCache claimsCache, UserDetailsServiceImpl userDetailsService, TokenRevocationService tokenRevocationService, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.claimsCache = claimsCache;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.apiConfig = apiConfig;
+        this.filterTimers = new OutcomeTimers(meterRegistry, "auth.jwt.filter", "Time spent authenticating a request in JwtFilter, excluding the rest of the chain",
+                SUCCESS, MISSING_HEADER, INVALID_TOKEN, NO_SUBJECT, REVOKED, UNKNOWN_USER);
+        this.verifyTimers = new OutcomeTimers(meterRegistry, "auth.jwt.verify", "Time spent parsing and verifying a JWT, including claims cache hits",
+                SUCCESS, INVALID_TOKEN);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Only the filter's own work is timed, the downstream chain is covered by http.server.requests
+        Timer.Sample sample = filterTimers.start();
+        String outcome = authenticate(request);
+        filterTimers.stop(sample, outcome);
+        filterChain.doFilter(request, response);
+    }
+
+    // Populates the security context when the request carries a valid token, returns the outcome tag
+    private String authenticate(HttpServletRequest request) {
         // Extract token
         String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
             log.debug("Request missing Authorization header");
-            return;
+            return MISSING_HEADER;
         }
 
         // Check if token contains correct payload
         String token = authHeader.substring(7);
-        String email;
+        Claims claims;
+        Timer.Sample verify = verifyTimers.start();
         try {
-            email = jwtUtil.extractEmail(token);
+            claims = claimsCache.getClaims(token);
+            verifyTimers.stop(verify, SUCCESS);
         } catch (JwtException e) {
-            filterChain.doFilter(request, response);
+            verifyTimers.stop(verify, INVALID_TOKEN);
             log.warn("Failed to parse JWT in Authorization Header: {}", e.getMessage());
-            return;
+            return INVALID_TOKEN;
         }
 
+        String email = claims.getSubject();
         if (email == null || SecurityContextHolder.getContext().getAuthentication() != null) {
             log.warn("Invalid email or already authenticated");
-            filterChain.doFilter(request, response);
-            return;
+            return NO_SUBJECT;
         }
 
-        // Check if user exists
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        // Reject tokens issued before the last password change
+        if (tokenRevocationService.isRevoked(claims)) {
+            log.warn("Revoked JWT used by user {}", email);
+            return REVOKED;
+        }
+
+        // In stateless mode the claims are trusted as is, otherwise check if user exists
+        Collection<? extends GrantedAuthority> authorities;
+        try {
+            authorities = apiConfig.isStatelessAuth()
+                    ? userDetailsService.authorities(email)
+                    : userDetailsService.loadUserByUsername(email).getAuthorities();
+        } catch (UsernameNotFoundException e) {
+            log.warn("JWT presented for unknown user {}", email);
+            return UNKNOWN_USER;
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(claims.get("id", Long.class), email);
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(principal, null, authorities);
         auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(auth);
         log.info("Successfully authenticated user {}", email);
-        filterChain.doFilter(request, response);
+        return SUCCESS;
     }
 }
@@ -0,0 +1,121 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import java.util.Arrays;
+
+// Immutable snapshot of the followers table in compressed sparse row form.
+// Users are dense int nodes (position in the sorted userIds array), the users node n follows are
+// targets[offsets[n] .. offsets[n + 1]) sorted ascending. One int per edge, no per-edge objects.
+public final class FollowGraph {
+    public static final FollowGraph EMPTY = new FollowGraph(new long[0], new int[]{0}, new int[0]);
+
+    private final long[] userIds;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private FollowGraph(long[] userIds, int[] offsets, int[] targets) {
+        this.userIds = userIds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int nodeCount() {
+        return userIds.length;
+    }
+
+    public long edgeCount() {
+        return targets.length;
+    }
+
+    public long estimatedBytes() {
+        return 3 * 16L + userIds.length * 8L + offsets.length * 4L + targets.length * 4L;
+    }
+
+    // Node of a user id, -1 if the user is not part of the snapshot
+    public int nodeOf(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        return index < 0 ? -1 : index;
+    }
+
+    public long userIdOf(int node) {
+        return userIds[node];
+    }
+
+    public int outStart(int node) {
+        return offsets[node];
+    }
+
+    public int outEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public int outDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int[] followedNodes(int node) {
+        return Arrays.copyOfRange(targets, offsets[node], offsets[node + 1]);
+    }
+
+    public boolean follows(int fromNode, int toNode) {
+        return Arrays.binarySearch(targets, offsets[fromNode], offsets[fromNode + 1], toNode) >= 0;
+    }
+
+    // First edge in [fromEdge, outEnd(node)) whose target is >= toNode
+    public int seek(int node, int fromEdge, int toNode) {
+        int index = Arrays.binarySearch(targets, fromEdge, offsets[node + 1], toNode);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public static Builder builder(long[] sortedUserIds, int expectedEdges) {
+        return new Builder(sortedUserIds, expectedEdges);
+    }
+
+    public static final class Builder {
+        private final long[] userIds;
+        private int[] sources;
+        private int[] destinations;
+        private int size;
+
+        private Builder(long[] sortedUserIds, int expectedEdges) {
+            this.userIds = sortedUserIds;
+            this.sources = new int[Math.max(16, expectedEdges)];
+            this.destinations = new int[Math.max(16, expectedEdges)];
+        }
+
+        // Edges referring to users outside the id array are ignored
+        public Builder addEdge(long followingUser, long followedUser) {
+            int from = Arrays.binarySearch(userIds, followingUser);
+            int to = Arrays.binarySearch(userIds, followedUser);
+            if (from < 0 || to < 0) return this;
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                destinations = Arrays.copyOf(destinations, size * 2);
+            }
+            sources[size] = from;
+            destinations[size] = to;
+            size++;
+            return this;
+        }
+
+        // Counting sort by source node, then sort each adjacency list
+        public FollowGraph build() {
+            int n = userIds.length;
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < size; i++) offsets[sources[i] + 1]++;
+            for (int i = 0; i < n; i++) offsets[i + 1] += offsets[i];
+
+            int[] cursor = Arrays.copyOf(offsets, n);
+            int[] targets = new int[size];
+            for (int i = 0; i < size; i++) targets[cursor[sources[i]]++] = destinations[i];
+            for (int node = 0; node < n; node++) Arrays.sort(targets, offsets[node], offsets[node + 1]);
+
+            sources = null;
+            destinations = null;
+            return new FollowGraph(userIds, offsets, targets);
+        }
+    }
+}
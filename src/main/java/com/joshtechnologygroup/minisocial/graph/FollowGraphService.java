@@ -0,0 +1,219 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import com.joshtechnologygroup.minisocial.dto.Relationship;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import com.joshtechnologygroup.minisocial.util.JdbcStreamingUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Owns the in-memory follower graph: a CSR snapshot loaded from the followers table plus the
+// follow/unfollow changes committed since, which are folded in by the next background rebuild.
+@Component
+@Slf4j
+public class FollowGraphService {
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Timer rebuildTimer;
+
+    private volatile FollowGraph graph = FollowGraph.EMPTY;
+
+    // follower user id -> followed user id -> latest committed state of that edge
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, EdgeDelta>> deltas = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public record EdgeDelta(long sequence, boolean present) { }
+
+    public FollowGraphService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "follow-graph-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rebuildTimer = Timer.builder("follow.graph.rebuild.time")
+                .description("Time to load the follower graph snapshot from the database")
+                .register(meterRegistry);
+        Gauge.builder("follow.graph.edges", this, service -> service.graph.edgeCount()).register(meterRegistry);
+        Gauge.builder("follow.graph.bytes", this, service -> service.graph.estimatedBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("follow.graph.pending.changes", deltas, d -> d.values().stream().mapToInt(Map::size).sum())
+                .register(meterRegistry);
+    }
+
+    public FollowGraph snapshot() {
+        return graph;
+    }
+
+    // False until the first snapshot has been loaded
+    public boolean isLoaded() {
+        return graph != FollowGraph.EMPTY;
+    }
+
+    // Changes committed after the snapshot for edges leaving this user, null if there are none
+    public Map<Long, EdgeDelta> pendingChanges(long followerId) {
+        return deltas.get(followerId);
+    }
+
+    public boolean follows(long followerId, long followedId) {
+        Map<Long, EdgeDelta> pending = deltas.get(followerId);
+        if (pending != null) {
+            EdgeDelta delta = pending.get(followedId);
+            if (delta != null) return delta.present();
+        }
+        FollowGraph snapshot = graph;
+        int from = snapshot.nodeOf(followerId);
+        int to = snapshot.nodeOf(followedId);
+        return from >= 0 && to >= 0 && snapshot.follows(from, to);
+    }
+
+    // Sorted nodes the user follows in the snapshot, with pending changes applied
+    public int[] followedNodes(FollowGraph snapshot, long userId) {
+        int node = snapshot.nodeOf(userId);
+        int[] followed = node < 0 ? new int[0] : snapshot.followedNodes(node);
+        Map<Long, EdgeDelta> pending = deltas.get(userId);
+        if (pending == null) return followed;
+
+        int[] merged = Arrays.copyOf(followed, followed.length + pending.size());
+        int size = followed.length;
+        for (Map.Entry<Long, EdgeDelta> entry : pending.entrySet()) {
+            int target = snapshot.nodeOf(entry.getKey());
+            if (target < 0) continue;
+            int position = Arrays.binarySearch(merged, 0, size, target);
+            if (entry.getValue().present() && position < 0) {
+                int insertAt = -position - 1;
+                System.arraycopy(merged, insertAt, merged, insertAt + 1, size - insertAt);
+                merged[insertAt] = target;
+                size++;
+            } else if (!entry.getValue().present() && position >= 0) {
+                System.arraycopy(merged, position + 1, merged, position, size - position - 1);
+                size--;
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    // "Following" is a sorted intersection of the viewer's adjacency with the requested users, seeking
+    // forward by binary search so it costs O(k log d) even for viewers following many accounts.
+    // "Followed by" is one binary search in each requested user's adjacency.
+    public List<Relationship> relationships(long viewerId, List<Long> userIds) {
+        FollowGraph snapshot = graph;
+        int viewer = snapshot.nodeOf(viewerId);
+        boolean[] following = new boolean[userIds.size()];
+        if (viewer >= 0) {
+            // node << 32 | position, so one sort orders the requested users by node
+            long[] keys = new long[userIds.size()];
+            int count = 0;
+            for (int i = 0; i < userIds.size(); i++) {
+                int node = snapshot.nodeOf(userIds.get(i));
+                if (node >= 0) keys[count++] = ((long) node << 32) | i;
+            }
+            Arrays.sort(keys, 0, count);
+
+            int edge = snapshot.outStart(viewer);
+            int end = snapshot.outEnd(viewer);
+            for (int k = 0; k < count && edge < end; k++) {
+                int node = (int) (keys[k] >>> 32);
+                edge = snapshot.seek(viewer, edge, node);
+                if (edge < end && snapshot.target(edge) == node) following[(int) keys[k]] = true;
+            }
+        }
+
+        Map<Long, EdgeDelta> viewerPending = deltas.get(viewerId);
+        List<Relationship> relationships = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            long userId = userIds.get(i);
+            boolean isFollowing = following[i];
+            EdgeDelta delta = viewerPending == null ? null : viewerPending.get(userId);
+            if (delta != null) isFollowing = delta.present();
+            relationships.add(new Relationship(userId, isFollowing, follows(userId, viewerId)));
+        }
+        return relationships;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        ConcurrentHashMap<Long, EdgeDelta> pending = deltas.computeIfAbsent(event.followerId(), k -> new ConcurrentHashMap<>());
+        for (Long target : event.targetIds()) {
+            pending.put(target, new EdgeDelta(sequence.incrementAndGet(), event.followed()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuildAsync();
+    }
+
+    @Scheduled(
+            initialDelayString = "${api.service.follow-graph-rebuild-interval:PT10M}",
+            fixedDelayString = "${api.service.follow-graph-rebuild-interval:PT10M}"
+    )
+    public void scheduledRebuild() {
+        rebuildAsync();
+    }
+
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Follower graph rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long startSequence = sequence.get();
+        FollowGraph next = rebuildTimer.record(this::load);
+        install(next);
+
+        // Changes committed before the load started are part of the new snapshot
+        deltas.values().forEach(pending -> pending.values().removeIf(delta -> delta.sequence() <= startSequence));
+        deltas.values().removeIf(Map::isEmpty);
+        log.info("Follower graph rebuilt: {} users, {} edges, ~{} bytes ({} bytes/edge)",
+                next.nodeCount(), next.edgeCount(), next.estimatedBytes(),
+                next.edgeCount() == 0 ? 0 : next.estimatedBytes() / next.edgeCount());
+    }
+
+    void install(FollowGraph next) {
+        graph = next;
+    }
+
+    private FollowGraph load() {
+        long[][] ids = {new long[1024]};
+        int[] count = {0};
+        jdbcTemplate.query(connection -> JdbcStreamingUtil.prepareStreaming(connection, "SELECT id FROM users ORDER BY id"), rs -> {
+            if (count[0] == ids[0].length) ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+            ids[0][count[0]++] = rs.getLong(1);
+        });
+
+        FollowGraph.Builder builder = FollowGraph.builder(Arrays.copyOf(ids[0], count[0]), count[0] * 4);
+        jdbcTemplate.query(connection -> JdbcStreamingUtil.prepareStreaming(connection, "SELECT following_user, followed_user FROM followers"), rs -> {
+            builder.addEdge(rs.getLong(1), rs.getLong(2));
+        });
+        return builder.build();
+    }
+}
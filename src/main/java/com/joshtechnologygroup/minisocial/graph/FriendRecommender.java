@@ -0,0 +1,125 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import com.joshtechnologygroup.minisocial.dto.Recommendation;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// "People you may know": users followed by the users the viewer follows, scored by how many of them do.
+// Two hop traversal over the CSR snapshot, split across the fork-join pool for high degree viewers.
+@Service
+public class FriendRecommender {
+    // Followed users per fork-join leaf task
+    private static final int LEAF_SIZE = 64;
+
+    private final FollowGraphService graphService;
+    private final long parallelThreshold;
+    private final Timer recommendTimer;
+
+    public FriendRecommender(FollowGraphService graphService, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.graphService = graphService;
+        this.parallelThreshold = apiConfig.getRecommendationParallelThreshold();
+        this.recommendTimer = Timer.builder("follow.graph.recommend.time")
+                .description("Time to compute people you may know for one user")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public List<Recommendation> recommend(long userId, int limit) {
+        return recommendTimer.record(() -> compute(userId, limit));
+    }
+
+    List<Recommendation> compute(long userId, int limit) {
+        FollowGraph graph = graphService.snapshot();
+        int viewer = graph.nodeOf(userId);
+        if (viewer < 0) return List.of();
+
+        int[] followed = graphService.followedNodes(graph, userId);
+        long work = 0;
+        for (int node : followed) work += graph.outDegree(node);
+
+        IntIntCounter scores = work > parallelThreshold
+                ? ForkJoinPool.commonPool().invoke(new CountTask(graph, followed, 0, followed.length))
+                : count(graph, followed, 0, followed.length);
+        applyPendingChanges(graph, followed, scores);
+
+        // Min-heap of the best "limit" candidates, ties broken by lower user id
+        Comparator<Recommendation> order = Comparator.comparingInt(Recommendation::mutualCount)
+                .thenComparing(Recommendation::userId, Comparator.reverseOrder());
+        PriorityQueue<Recommendation> top = new PriorityQueue<>(limit + 1, order);
+        scores.forEach((candidate, count) -> {
+            if (count <= 0 || candidate == viewer || Arrays.binarySearch(followed, candidate) >= 0) return;
+            top.add(new Recommendation(graph.userIdOf(candidate), count));
+            if (top.size() > limit) top.poll();
+        });
+
+        List<Recommendation> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    private static IntIntCounter count(FollowGraph graph, int[] followed, int from, int to) {
+        long work = 0;
+        for (int i = from; i < to; i++) work += graph.outDegree(followed[i]);
+        IntIntCounter scores = new IntIntCounter((int) Math.min(work, 1 << 20));
+        for (int i = from; i < to; i++) {
+            int node = followed[i];
+            for (int edge = graph.outStart(node); edge < graph.outEnd(node); edge++) {
+                scores.increment(graph.target(edge), 1);
+            }
+        }
+        return scores;
+    }
+
+    // Follows/unfollows by the viewer's followed users that the snapshot does not contain yet
+    private void applyPendingChanges(FollowGraph graph, int[] followed, IntIntCounter scores) {
+        for (int node : followed) {
+            Map<Long, FollowGraphService.EdgeDelta> pending = graphService.pendingChanges(graph.userIdOf(node));
+            if (pending == null) continue;
+            pending.forEach((targetId, delta) -> {
+                int target = graph.nodeOf(targetId);
+                if (target < 0) return;
+                boolean inSnapshot = graph.follows(node, target);
+                if (delta.present() && !inSnapshot) scores.increment(target, 1);
+                else if (!delta.present() && inSnapshot) scores.increment(target, -1);
+            });
+        }
+    }
+
+    private static class CountTask extends RecursiveTask<IntIntCounter> {
+        private final FollowGraph graph;
+        private final int[] followed;
+        private final int from;
+        private final int to;
+
+        CountTask(FollowGraph graph, int[] followed, int from, int to) {
+            this.graph = graph;
+            this.followed = followed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntIntCounter compute() {
+            if (to - from <= LEAF_SIZE) {
+                return count(graph, followed, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(graph, followed, from, mid);
+            left.fork();
+            IntIntCounter right = new CountTask(graph, followed, mid, to).compute();
+            IntIntCounter merged = left.join();
+            if (merged.size() < right.size()) {
+                right.addAll(merged);
+                return right;
+            }
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
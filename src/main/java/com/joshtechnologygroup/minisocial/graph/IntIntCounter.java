@@ -0,0 +1,70 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import java.util.Arrays;
+
+// Open addressing int -> int counter, avoids boxing while scoring a few thousand candidates.
+// Keys must be >= 0, -1 marks an empty slot.
+final class IntIntCounter {
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    IntIntCounter(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, -1);
+    }
+
+    void increment(int key, int by) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != -1 && keys[slot] != key) slot = (slot + 1) & mask;
+        if (keys[slot] == -1) {
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                counts[slot] += by;
+                grow();
+                return;
+            }
+        }
+        counts[slot] += by;
+    }
+
+    void addAll(IntIntCounter other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != -1) increment(other.keys[i], other.counts[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    interface Visitor {
+        void visit(int key, int count);
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != -1) visitor.visit(keys[i], counts[i]);
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        Arrays.fill(keys, -1);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != -1) increment(oldKeys[i], oldCounts[i]);
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
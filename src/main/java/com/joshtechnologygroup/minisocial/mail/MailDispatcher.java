@@ -0,0 +1,197 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import com.joshtechnologygroup.minisocial.repository.MailQueueJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drains mail_queue off the request path. Every poll claims at most mail-rate-per-second worth of
+// mails for one poll interval, splits them into batches and sends each batch over a single SMTP
+// connection on a bounded worker pool. Failed mails are retried with exponential backoff.
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "api.service", name = "mail-enabled", havingValue = "true")
+public class MailDispatcher {
+    private static final TypeReference<Map<String, String>> MODEL_TYPE = new TypeReference<>() { };
+    private static final int PURGE_CHUNK = 1_000;
+
+    private final MailQueueJdbcRepository mailQueueRepository;
+    private final JavaMailSender mailSender;
+    private final MailTemplates mailTemplates;
+    private final ObjectMapper objectMapper;
+    private final ApiConfig apiConfig;
+    private final ThreadPoolExecutor executor;
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public MailDispatcher(MailQueueJdbcRepository mailQueueRepository, JavaMailSender mailSender, MailTemplates mailTemplates, ObjectMapper objectMapper, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.mailQueueRepository = mailQueueRepository;
+        this.mailSender = mailSender;
+        this.mailTemplates = mailTemplates;
+        this.objectMapper = objectMapper;
+        this.apiConfig = apiConfig;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                apiConfig.getMailThreads(),
+                apiConfig.getMailThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(apiConfig.getMailThreads()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.batchTimer = Timer.builder("mail.batch.time")
+                .description("Time to send one batch of mails over one SMTP connection")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.failed")
+                .description("Send attempts that failed and were retried or given up on")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.service.mail-poll-interval:PT1S}")
+    public void poll() {
+        mailQueueRepository.releaseStaleClaims(apiConfig.getMailClaimTimeout().toSeconds());
+
+        List<QueuedMail> claimed = mailQueueRepository.claimDue(UUID.randomUUID().toString(), permitsPerPoll());
+        if (claimed.isEmpty()) return;
+
+        List<Future<?>> batches = new ArrayList<>();
+        for (int start = 0; start < claimed.size(); start += apiConfig.getMailBatchSize()) {
+            List<QueuedMail> batch = claimed.subList(start, Math.min(claimed.size(), start + apiConfig.getMailBatchSize()));
+            batches.add(executor.submit(() -> batchTimer.record(() -> send(batch))));
+        }
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Claims are released by releaseStaleClaims after the claim timeout
+                log.error("Mail batch failed", e.getCause());
+            }
+        }
+    }
+
+    // Upper bound on mails per poll, so polling every interval never exceeds the configured rate
+    private int permitsPerPoll() {
+        double seconds = apiConfig.getMailPollInterval().toMillis() / 1000.0;
+        return Math.max(1, (int) (apiConfig.getMailRatePerSecond() * seconds));
+    }
+
+    void send(List<QueuedMail> batch) {
+        Map<MimeMessage, QueuedMail> messages = new LinkedHashMap<>();
+        Map<QueuedMail, Exception> failed = new HashMap<>();
+        for (QueuedMail mail : batch) {
+            try {
+                messages.put(render(mail), mail);
+            } catch (RuntimeException | MessagingException e) {
+                // Unknown template or missing variable, retrying will not help
+                log.error("Can not render mail {} ({})", mail.id(), mail.template(), e);
+                mailQueueRepository.markFailed(mail.id(), mail.attempts() + 1, truncate(e.toString()));
+                failedCounter.increment();
+            }
+        }
+        if (messages.isEmpty()) return;
+
+        try {
+            // One connection for the whole batch
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, error) -> {
+                QueuedMail mail = messages.get(message);
+                if (mail != null) failed.put(mail, error);
+            });
+            if (failed.isEmpty()) messages.values().forEach(mail -> failed.put(mail, e));
+        } catch (MailException e) {
+            messages.values().forEach(mail -> failed.put(mail, e));
+        }
+
+        List<Long> sent = messages.values().stream()
+                .filter(mail -> !failed.containsKey(mail))
+                .map(QueuedMail::id)
+                .toList();
+        if (!sent.isEmpty()) mailQueueRepository.markSent(sent);
+        sentCounter.increment(sent.size());
+        failed.forEach(this::retryOrFail);
+    }
+
+    private MimeMessage render(QueuedMail mail) throws MessagingException {
+        MailTemplates.RenderedMail rendered = mailTemplates.render(mail.template(), objectMapper.readValue(mail.model(), MODEL_TYPE));
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(apiConfig.getMailFrom());
+        helper.setTo(mail.recipient());
+        helper.setSubject(rendered.subject());
+        helper.setText(rendered.body());
+        return message;
+    }
+
+    private void retryOrFail(QueuedMail mail, Exception error) {
+        failedCounter.increment();
+        int attempts = mail.attempts() + 1;
+        if (attempts >= apiConfig.getMailMaxAttempts()) {
+            log.error("Giving up on mail {} to {} after {} attempts", mail.id(), mail.recipient(), attempts, error);
+            mailQueueRepository.markFailed(mail.id(), attempts, truncate(error.toString()));
+            return;
+        }
+        log.warn("Sending mail {} failed (attempt {}): {}", mail.id(), attempts, error.toString());
+        long backoff = apiConfig.getMailRetryBackoff().toMillis() << Math.min(attempts - 1, 16);
+        mailQueueRepository.scheduleRetry(mail.id(), attempts, backoff, truncate(error.toString()));
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    @Scheduled(initialDelayString = "PT1H", fixedDelayString = "PT1H")
+    public void purge() {
+        long seconds = apiConfig.getMailRetention().toSeconds();
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = mailQueueRepository.deleteSentOlderThan(seconds, PURGE_CHUNK);
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK);
+        log.info("Purged {} sent mails", purged);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import com.joshtechnologygroup.minisocial.repository.MailQueueJdbcRepository;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+// Queues mail for MailDispatcher. Joins the caller's transaction, so a mail is only sent if the
+// change that caused it commits; nothing here talks to the SMTP server.
+@Component
+public class MailQueue {
+    private final MailQueueJdbcRepository mailQueueRepository;
+    private final ObjectMapper objectMapper;
+
+    public MailQueue(MailQueueJdbcRepository mailQueueRepository, ObjectMapper objectMapper) {
+        this.mailQueueRepository = mailQueueRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // key de-duplicates: a mail whose key was queued before is not queued again
+    public record MailRequest(String key, String recipient, String template, Map<String, String> model) { }
+
+    public void enqueue(List<MailRequest> requests) {
+        if (requests.isEmpty()) return;
+        mailQueueRepository.enqueue(requests.stream()
+                .map(request -> new MailQueueJdbcRepository.NewMail(
+                        request.key(),
+                        request.recipient(),
+                        request.template(),
+                        objectMapper.writeValueAsString(request.model())
+                ))
+                .toList());
+    }
+}
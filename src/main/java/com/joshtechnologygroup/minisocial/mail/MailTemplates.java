@@ -0,0 +1,85 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Plain text templates in classpath:mail/<name>.txt: a "Subject: ..." line, a blank line, then the body.
+// {{name}} placeholders are replaced with model values. Each template is read and parsed once.
+@Component
+public class MailTemplates {
+    private final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<>();
+
+    public record RenderedMail(String subject, String body) { }
+
+    // Throws IllegalArgumentException for unknown templates or missing variables
+    public RenderedMail render(String name, Map<String, String> model) {
+        Template template = templates.computeIfAbsent(name, MailTemplates::load);
+        return new RenderedMail(template.subject().render(model), template.body().render(model));
+    }
+
+    private static Template load(String name) {
+        ClassPathResource resource = new ClassPathResource("mail/" + name + ".txt");
+        if (!resource.exists()) throw new IllegalArgumentException("Unknown mail template " + name);
+        try (InputStream in = resource.getInputStream()) {
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Template parse(String text) {
+        String normalized = text.replace("\r\n", "\n");
+        int headerEnd = normalized.indexOf("\n\n");
+        if (!normalized.startsWith("Subject:") || headerEnd < 0) {
+            throw new IllegalArgumentException("Mail template must start with a Subject line followed by a blank line");
+        }
+        return new Template(
+                Segments.compile(normalized.substring("Subject:".length(), headerEnd).strip()),
+                Segments.compile(normalized.substring(headerEnd + 2))
+        );
+    }
+
+    record Template(Segments subject, Segments body) { }
+
+    // Alternating literal text and variable names, variables at odd indexes
+    record Segments(List<String> parts) {
+        static Segments compile(String text) {
+            List<String> parts = new ArrayList<>();
+            int position = 0;
+            while (true) {
+                int open = text.indexOf("{{", position);
+                int close = open < 0 ? -1 : text.indexOf("}}", open);
+                if (close < 0) {
+                    parts.add(text.substring(position));
+                    return new Segments(List.copyOf(parts));
+                }
+                parts.add(text.substring(position, open));
+                parts.add(text.substring(open + 2, close).strip());
+                position = close + 2;
+            }
+        }
+
+        String render(Map<String, String> model) {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < parts.size(); i++) {
+                if (i % 2 == 0) {
+                    out.append(parts.get(i));
+                } else {
+                    String value = model.get(parts.get(i));
+                    if (value == null) throw new IllegalArgumentException("Missing mail template variable " + parts.get(i));
+                    out.append(value);
+                }
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
+import com.joshtechnologygroup.minisocial.outbox.OutboxMessage;
+import com.joshtechnologygroup.minisocial.outbox.OutboxSubscriber;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+// Queues the "password changed" notice. Runs in the outbox delivery transaction, so every change
+// queues exactly one mail.
+@Component
+@ConditionalOnProperty(prefix = "api.service", name = "mail-enabled", havingValue = "true")
+public class PasswordChangedMailSubscriber implements OutboxSubscriber<PasswordChangedEvent> {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final MailQueue mailQueue;
+
+    public PasswordChangedMailSubscriber(MailQueue mailQueue) {
+        this.mailQueue = mailQueue;
+    }
+
+    @Override
+    public String name() {
+        return "password-changed-mail";
+    }
+
+    @Override
+    public Class<PasswordChangedEvent> eventType() {
+        return PasswordChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<OutboxMessage<PasswordChangedEvent>> messages) {
+        mailQueue.enqueue(messages.stream()
+                .map(message -> new MailQueue.MailRequest(
+                        "password-changed:" + message.key(),
+                        message.event().email(),
+                        "password-changed",
+                        Map.of(
+                                "email", message.event().email(),
+                                "changedAt", TIME_FORMAT.format(message.event().changedAt().truncatedTo(ChronoUnit.SECONDS))
+                        )
+                ))
+                .toList());
+    }
+}
@@ -0,0 +1,11 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+// A claimed mail_queue row, model is the JSON object of template variables
+public record QueuedMail(
+        long id,
+        String key,
+        String recipient,
+        String template,
+        String model,
+        int attempts
+) { }
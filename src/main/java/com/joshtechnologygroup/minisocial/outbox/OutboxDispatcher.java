@@ -0,0 +1,210 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+import com.joshtechnologygroup.minisocial.repository.OutboxJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Polls due outbox rows in batches and hands each batch to its subscribers on a bounded executor.
+// The next batch is only fetched once every subscriber finished the current one, and when the queue
+// is full the poller thread runs the work itself, so a slow subscriber slows polling instead of
+// piling up events in memory. Rows are claimed before delivery so several instances never work on the
+// same events. Failed deliveries are retried with exponential backoff.
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "api.service", name = "outbox-enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+    private static final int PURGE_CHUNK = 1_000;
+
+    private final OutboxJdbcRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, List<OutboxSubscriber<?>>> subscribersByType;
+    private final ThreadPoolExecutor executor;
+    private final ApiConfig apiConfig;
+    private final Timer batchTimer;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+
+    public OutboxDispatcher(OutboxJdbcRepository outboxRepository, TransactionTemplate transactionTemplate, ObjectMapper objectMapper, ObjectProvider<OutboxSubscriber<?>> subscribers, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.apiConfig = apiConfig;
+        this.subscribersByType = subscribers.orderedStream()
+                .collect(Collectors.groupingBy(subscriber -> subscriber.eventType().getSimpleName()));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                apiConfig.getOutboxThreads(),
+                apiConfig.getOutboxThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(apiConfig.getOutboxQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.batchTimer = Timer.builder("outbox.batch.time")
+                .description("Time to deliver one batch of outbox events to all subscribers")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("outbox.events.delivered").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.events.failed")
+                .description("Deliveries that threw and were scheduled for retry or given up on")
+                .register(meterRegistry);
+        Gauge.builder("outbox.executor.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.service.outbox-poll-interval:PT0.5S}")
+    public void poll() {
+        if (subscribersByType.isEmpty()) return;
+        outboxRepository.releaseStaleClaims(apiConfig.getOutboxClaimTimeout().toSeconds());
+
+        List<OutboxRecord> batch;
+        do {
+            String claim = UUID.randomUUID().toString();
+            batch = outboxRepository.claimDue(claim, apiConfig.getOutboxBatchSize());
+            if (!batch.isEmpty()) {
+                List<OutboxRecord> current = batch;
+                batchTimer.record(() -> dispatch(claim, current));
+            }
+        } while (batch.size() == apiConfig.getOutboxBatchSize() && !Thread.currentThread().isInterrupted());
+    }
+
+    void dispatch(String claim, List<OutboxRecord> batch) {
+        Map<String, List<OutboxRecord>> byType = batch.stream()
+                .collect(Collectors.groupingBy(OutboxRecord::eventType, LinkedHashMap::new, Collectors.toList()));
+
+        List<Future<Map<Long, String>>> results = new ArrayList<>();
+        List<List<OutboxRecord>> tasks = new ArrayList<>();
+        byType.forEach((type, records) -> {
+            for (OutboxSubscriber<?> subscriber : subscribersByType.getOrDefault(type, List.of())) {
+                results.add(executor.submit(() -> deliver(subscriber, records)));
+                tasks.add(records);
+            }
+        });
+
+        // Event id -> error of the first subscriber that failed on it
+        Map<Long, String> errors = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get().forEach(errors::putIfAbsent);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (OutboxRecord record : tasks.get(i)) errors.putIfAbsent(record.id(), "interrupted");
+            } catch (ExecutionException e) {
+                for (OutboxRecord record : tasks.get(i)) errors.putIfAbsent(record.id(), String.valueOf(e.getCause()));
+            }
+        }
+
+        List<Long> processed = batch.stream().map(OutboxRecord::id).filter(id -> !errors.containsKey(id)).toList();
+        if (!processed.isEmpty()) outboxRepository.markProcessed(claim, processed);
+        for (OutboxRecord record : batch) {
+            String error = errors.get(record.id());
+            if (error != null) retryOrFail(claim, record, error);
+        }
+    }
+
+    // Returns event id -> error message of the events that could not be delivered. When the whole batch
+    // fails its events are retried one by one, so a single bad payload or event only holds back itself.
+    private <E extends OutboxEvent> Map<Long, String> deliver(OutboxSubscriber<E> subscriber, List<OutboxRecord> records) {
+        String error = deliverInOneTransaction(subscriber, records);
+        if (error == null) return Map.of();
+        if (records.size() == 1) {
+            failedCounter.increment();
+            return Map.of(records.get(0).id(), error);
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        for (OutboxRecord record : records) {
+            String recordError = deliverInOneTransaction(subscriber, List.of(record));
+            if (recordError != null) errors.put(record.id(), recordError);
+        }
+        failedCounter.increment(errors.size());
+        return errors;
+    }
+
+    // Returns null on success, the error message otherwise
+    private <E extends OutboxEvent> String deliverInOneTransaction(OutboxSubscriber<E> subscriber, List<OutboxRecord> records) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> delivered = outboxRepository.findDelivered(subscriber.name(), records.stream().map(OutboxRecord::eventKey).toList());
+                List<OutboxMessage<E>> messages = records.stream()
+                        .filter(record -> !delivered.contains(record.eventKey()))
+                        .map(record -> new OutboxMessage<>(record.eventKey(), objectMapper.readValue(record.payload(), subscriber.eventType())))
+                        .toList();
+                if (messages.isEmpty()) return;
+
+                subscriber.handle(messages);
+                outboxRepository.recordDeliveries(subscriber.name(), messages.stream().map(OutboxMessage::key).toList());
+                deliveredCounter.increment(messages.size());
+            });
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Outbox subscriber {} failed on {} events", subscriber.name(), records.size(), e);
+            String message = subscriber.name() + ": " + e;
+            return message.length() > 1000 ? message.substring(0, 1000) : message;
+        }
+    }
+
+    private void retryOrFail(String claim, OutboxRecord record, String error) {
+        int attempts = record.attempts() + 1;
+        if (attempts >= apiConfig.getOutboxMaxAttempts()) {
+            log.error("Giving up on outbox event {} ({}) after {} attempts: {}", record.id(), record.eventType(), attempts, error);
+            outboxRepository.markFailed(claim, record.id(), attempts, error);
+            return;
+        }
+        long backoff = apiConfig.getOutboxRetryBackoff().toMillis() << Math.min(attempts - 1, 16);
+        outboxRepository.scheduleRetry(claim, record.id(), attempts, backoff, error);
+    }
+
+    @Scheduled(initialDelayString = "PT1H", fixedDelayString = "PT1H")
+    public void purge() {
+        long seconds = apiConfig.getOutboxRetention().toSeconds();
+        long events = 0;
+        long deliveries = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deleteProcessedOlderThan(seconds, PURGE_CHUNK);
+            events += deleted;
+        } while (deleted == PURGE_CHUNK);
+        do {
+            deleted = outboxRepository.deleteDeliveriesOlderThan(seconds, PURGE_CHUNK);
+            deliveries += deleted;
+        } while (deleted == PURGE_CHUNK);
+        log.info("Purged {} processed outbox events and {} delivery keys", events, deliveries);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,6 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+// Marks application events that are also written to the outbox when some OutboxSubscriber handles them.
+// Implementations must be serializable to JSON and back (records of simple values).
+public interface OutboxEvent {
+}
@@ -0,0 +1,7 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+// key is unique per event and stable across redeliveries, usable as an idempotency key downstream
+public record OutboxMessage<E>(
+        String key,
+        E event
+) { }
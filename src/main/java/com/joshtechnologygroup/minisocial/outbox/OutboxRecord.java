@@ -0,0 +1,9 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+public record OutboxRecord(
+        long id,
+        String eventKey,
+        String eventType,
+        String payload,
+        int attempts
+) { }
@@ -0,0 +1,35 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+import com.joshtechnologygroup.minisocial.repository.OutboxJdbcRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Writes published OutboxEvents to the outbox table. Runs synchronously inside the publisher's
+// transaction, so the row commits or rolls back together with the change that caused it.
+@Component
+public class OutboxRecorder {
+    private final OutboxJdbcRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Set<Class<?>> subscribedTypes;
+
+    public OutboxRecorder(OutboxJdbcRepository outboxRepository, ObjectMapper objectMapper, ObjectProvider<OutboxSubscriber<?>> subscribers) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.subscribedTypes = subscribers.orderedStream()
+                .map(OutboxSubscriber::eventType)
+                .collect(Collectors.toSet());
+    }
+
+    // Events nobody subscribes to cost nothing
+    @EventListener
+    public void record(OutboxEvent event) {
+        if (!subscribedTypes.contains(event.getClass())) return;
+        outboxRepository.insert(UUID.randomUUID().toString(), event.getClass().getSimpleName(), objectMapper.writeValueAsString(event));
+    }
+}
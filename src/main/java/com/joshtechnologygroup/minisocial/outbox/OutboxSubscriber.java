@@ -0,0 +1,17 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+import java.util.List;
+
+// Asynchronous consumer of outbox events. Delivery is at-least-once: handle runs in a transaction
+// together with recording the delivered keys, so database work done by the handler happens exactly
+// once, while external side effects should use OutboxMessage.key to de-duplicate.
+public interface OutboxSubscriber<E extends OutboxEvent> {
+
+    // Stable name, used as part of the idempotency key
+    String name();
+
+    Class<E> eventType();
+
+    // Messages in outbox order, never ones this subscriber already handled successfully
+    void handle(List<OutboxMessage<E>> messages);
+}
@@ -0,0 +1,91 @@
+package com.joshtechnologygroup.minisocial.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// In-memory token buckets. Each bucket is a single AtomicLong updated with compare-and-set (the GCRA form of a
+// token bucket), so concurrent requests never block each other. Memory is bounded by authRateLimitMaxKeys and a
+// bucket is dropped once idle for its period, by which time it would be full again, so eviction loses nothing.
+@Component
+public class LocalRateLimiter implements RateLimiter {
+    private final Cache<String, Bucket> buckets;
+    private final LongSupplier nanoTime;
+
+    @Autowired
+    public LocalRateLimiter(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this(apiConfig.getAuthRateLimitMaxKeys(), System::nanoTime);
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "auth.ratelimit.buckets");
+    }
+
+    LocalRateLimiter(long maxKeys, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new IdleExpiry())
+                .ticker(nanoTime::getAsLong)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = nanoTime.getAsLong();
+        Bucket bucket = buckets.get(key, k -> new Bucket(now, limit.periodNanos()));
+        return bucket.tryAcquire(now, limit.intervalNanos(), limit.periodNanos());
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    // theoreticalArrival is when the bucket will be full again; a token is available
+    // as long as that stays within one period from now after adding the token's interval
+    static final class Bucket {
+        private final AtomicLong theoreticalArrival;
+        private final long periodNanos;
+
+        Bucket(long now, long periodNanos) {
+            this.theoreticalArrival = new AtomicLong(now);
+            this.periodNanos = periodNanos;
+        }
+
+        long tryAcquire(long now, long intervalNanos, long periodNanos) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+                long wait = next - now - periodNanos;
+                if (wait > 0) return wait;
+                if (theoreticalArrival.compareAndSet(arrival, next)) return 0;
+            }
+        }
+    }
+
+    // Every access keeps the bucket for one more period
+    private static final class IdleExpiry implements Expiry<String, Bucket> {
+        @Override
+        public long expireAfterCreate(@NonNull String key, @NonNull Bucket bucket, long currentTime) {
+            return bucket.periodNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull String key, @NonNull Bucket bucket, long currentTime, long currentDuration) {
+            return bucket.periodNanos;
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull String key, @NonNull Bucket bucket, long currentTime, long currentDuration) {
+            return bucket.periodNanos;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.joshtechnologygroup.minisocial.ratelimit;
+
+import java.time.Duration;
+
+// A bucket of capacity tokens, refilled continuously so that a full bucket is reached again after period
+public record RateLimit(long capacity, Duration period) {
+    public RateLimit {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and period");
+        }
+    }
+
+    public long periodNanos() {
+        return period.toNanos();
+    }
+
+    // Time for one token to come back
+    public long intervalNanos() {
+        return Math.max(1, periodNanos() / capacity);
+    }
+}
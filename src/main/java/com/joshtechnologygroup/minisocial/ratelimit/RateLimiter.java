@@ -0,0 +1,9 @@
+package com.joshtechnologygroup.minisocial.ratelimit;
+
+// Token buckets keyed by an arbitrary string such as "ip:<address>" or "email:<address>".
+// LocalRateLimiter limits each instance on its own; a limiter backed by a store shared by all
+// instances (e.g. Redis running the same algorithm in a script) should be registered as @Primary to take its place.
+public interface RateLimiter {
+    // Takes a token from the key's bucket. Returns 0 if one was available, otherwise the nanoseconds until one is.
+    long tryAcquire(String key, RateLimit limit);
+}
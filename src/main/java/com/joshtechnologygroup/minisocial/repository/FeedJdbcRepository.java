@@ -0,0 +1,80 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.util.JdbcStreamingUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+// Queries behind the home feed. Followers of an author are a range of the followers primary key,
+// the authors a user follows are a range of idx_followers_following, and each followed author's
+// posts are a range of idx_posts_author_mode.
+@Repository
+public class FeedJdbcRepository {
+    private static final int AUTHORS_PER_QUERY = 100;
+    private static final String NEWEST_OF_AUTHOR =
+            "(SELECT id FROM posts WHERE author_id = ? AND fanned_out = ? AND id > ? AND id < ? ORDER BY id DESC LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Streams the follower ids of an author without materializing them
+    public void forEachFollower(long authorId, LongConsumer consumer) {
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = JdbcStreamingUtil.prepareStreaming(connection, "SELECT following_user FROM followers WHERE followed_user = ?");
+                    ps.setLong(1, authorId);
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(rs.getLong(1));
+                }
+        );
+    }
+
+    // Newest ids below "before" among posts by users the viewer follows, limited to one delivery mode.
+    // A join of followers and posts ordered by p.id can not stop early, it reads every post of every
+    // followed author and sorts them. Instead each author contributes at most limit ids from its own
+    // idx_posts_author_mode range, AUTHORS_PER_QUERY authors per statement, and once limit ids are known
+    // later statements only look above the oldest of them. Pulled posts (fannedOut false) are only looked
+    // up for followed users flagged has_pulled_posts, so a feed without celebrities costs one statement.
+    public List<Long> findFeedIds(long viewerId, boolean fannedOut, long before, int limit) {
+        List<Long> authors = fannedOut
+                ? jdbcTemplate.queryForList("SELECT followed_user FROM followers WHERE following_user = ?", Long.class, viewerId)
+                : jdbcTemplate.queryForList("""
+                        SELECT f.followed_user
+                        FROM followers f
+                                 JOIN users u ON u.id = f.followed_user
+                        WHERE f.following_user = ?
+                          AND u.has_pulled_posts
+                        """, Long.class, viewerId);
+        List<Long> newest = List.of();
+        for (int from = 0; from < authors.size(); from += AUTHORS_PER_QUERY) {
+            List<Long> chunk = authors.subList(from, Math.min(authors.size(), from + AUTHORS_PER_QUERY));
+            long after = newest.size() == limit ? newest.get(newest.size() - 1) : 0;
+            String sql = String.join(" UNION ALL ", Collections.nCopies(chunk.size(), NEWEST_OF_AUTHOR)) + " ORDER BY id DESC LIMIT ?";
+            List<Object> args = new ArrayList<>(chunk.size() * 5 + 1);
+            for (Long author : chunk) {
+                args.addAll(List.of(author, fannedOut, after, before, limit));
+            }
+            args.add(limit);
+
+            List<Long> ids = jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+            if (ids.isEmpty()) continue;
+            List<Long> merged = new ArrayList<>(newest.size() + ids.size());
+            merged.addAll(newest);
+            merged.addAll(ids);
+            merged.sort(Comparator.reverseOrder());
+            newest = merged.subList(0, Math.min(limit, merged.size()));
+        }
+        return newest;
+    }
+}
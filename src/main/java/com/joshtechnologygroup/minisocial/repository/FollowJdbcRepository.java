@@ -0,0 +1,100 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.dto.Relationship;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Set based edge operations for bulk follow/unfollow. With rewriteBatchedStatements=true on the
+// MySQL connection each batch is sent as a single multi-row statement.
+@Repository
+public class FollowJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public FollowJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public List<Long> findExistingUserIds(Collection<Long> userIds) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds),
+                Long.class
+        );
+    }
+
+    // Locks the follower's existing edges to the given users (idx_followers_following) until the transaction ends
+    public List<Long> lockFollowedAmong(long followingUser, Collection<Long> followedUsers) {
+        return namedJdbcTemplate.queryForList(
+                "SELECT followed_user FROM followers WHERE following_user = :follower AND followed_user IN (:ids) FOR UPDATE",
+                new MapSqlParameterSource("follower", followingUser).addValue("ids", followedUsers),
+                Long.class
+        );
+    }
+
+    // Edges between the viewer and the given users in both directions in one round trip. The first
+    // branch is a range of idx_followers_following, the second a range of the primary key.
+    public List<Relationship> findRelationships(long viewerId, List<Long> userIds) {
+        Set<Long> following = new HashSet<>();
+        Set<Long> followedBy = new HashSet<>();
+        namedJdbcTemplate.query(
+                """
+                SELECT followed_user AS user_id, 1 AS outgoing FROM followers
+                WHERE following_user = :viewer AND followed_user IN (:ids)
+                UNION ALL
+                SELECT following_user AS user_id, 0 AS outgoing FROM followers
+                WHERE followed_user = :viewer AND following_user IN (:ids)
+                """,
+                new MapSqlParameterSource("viewer", viewerId).addValue("ids", userIds),
+                rs -> {
+                    (rs.getInt(2) == 1 ? following : followedBy).add(rs.getLong(1));
+                }
+        );
+        return userIds.stream()
+                .map(id -> new Relationship(id, following.contains(id), followedBy.contains(id)))
+                .toList();
+    }
+
+    public void insertEdges(long followingUser, List<Long> followedUsers) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO followers (followed_user, following_user) VALUES (?, ?)",
+                followedUsers,
+                followedUsers.size(),
+                (ps, followedUser) -> {
+                    ps.setLong(1, followedUser);
+                    ps.setLong(2, followingUser);
+                }
+        );
+    }
+
+    public void deleteEdges(long followingUser, List<Long> followedUsers) {
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM followers WHERE followed_user = ? AND following_user = ?",
+                followedUsers,
+                followedUsers.size(),
+                (ps, followedUser) -> {
+                    ps.setLong(1, followedUser);
+                    ps.setLong(2, followingUser);
+                }
+        );
+    }
+
+    public void adjustFollowerCounts(Collection<Long> userIds, long delta) {
+        namedJdbcTemplate.update(
+                "UPDATE users SET follower_count = follower_count + :delta WHERE id IN (:ids)",
+                new MapSqlParameterSource("delta", delta).addValue("ids", userIds)
+        );
+    }
+
+    public void adjustFollowingCount(long userId, long delta) {
+        jdbcTemplate.update("UPDATE users SET following_count = following_count + ? WHERE id = ?", delta, userId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.Follow;
+import com.joshtechnologygroup.minisocial.bean.FollowId;
+import com.joshtechnologygroup.minisocial.dto.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+// Keyset queries over the followers edge table.
+// Followers of a user are a range scan of the (followed_user, following_user) primary key,
+// followed users are a range scan of idx_followers_following, which carries followed_user as the PK suffix.
+// Edge writes declare the "followers" query space so they only invalidate caches that depend on that table.
+public interface FollowRepository extends JpaRepository<Follow, FollowId> {
+
+    @Query(value = """
+            SELECT f.following_user AS id, u.email AS email, d.first_name AS firstName, d.last_name AS lastName
+            FROM followers f
+            JOIN users u ON u.id = f.following_user
+            LEFT JOIN user_details d ON d.user_id = f.following_user
+            WHERE f.followed_user = :userId AND f.following_user > :after
+            ORDER BY f.following_user
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSummary> findFollowers(@Param("userId") long userId, @Param("after") long after, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT f.followed_user AS id, u.email AS email, d.first_name AS firstName, d.last_name AS lastName
+            FROM followers f
+            JOIN users u ON u.id = f.followed_user
+            LEFT JOIN user_details d ON d.user_id = f.followed_user
+            WHERE f.following_user = :userId AND f.followed_user > :after
+            ORDER BY f.followed_user
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UserSummary> findFollowing(@Param("userId") long userId, @Param("after") long after, @Param("limit") int limit);
+
+    // Returns 1 if the edge was created, 0 if it already existed
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "followers"))
+    @Query(value = "INSERT IGNORE INTO followers (followed_user, following_user) VALUES (:followedUser, :followingUser)", nativeQuery = true)
+    int insertEdge(@Param("followedUser") long followedUser, @Param("followingUser") long followingUser);
+
+    // Returns 1 if the edge was removed, 0 if it did not exist
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "followers"))
+    @Query(value = "DELETE FROM followers WHERE followed_user = :followedUser AND following_user = :followingUser", nativeQuery = true)
+    int deleteEdge(@Param("followedUser") long followedUser, @Param("followingUser") long followingUser);
+}
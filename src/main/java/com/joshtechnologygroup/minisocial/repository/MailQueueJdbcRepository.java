@@ -0,0 +1,104 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.mail.QueuedMail;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Rows move PENDING -> SENDING (claimed by one dispatcher) -> SENT, or back to PENDING with a later
+// next_attempt_at on failure. All times come from the database clock.
+@Repository
+public class MailQueueJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public MailQueueJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public record NewMail(String key, String recipient, String template, String model) { }
+
+    // Mails whose key is already queued are ignored
+    public void enqueue(List<NewMail> mails) {
+        jdbcTemplate.batchUpdate(
+                "INSERT IGNORE INTO mail_queue (mail_key, recipient, template, model) VALUES (?, ?, ?, ?)",
+                mails,
+                mails.size(),
+                (ps, mail) -> {
+                    ps.setString(1, mail.key());
+                    ps.setString(2, mail.recipient());
+                    ps.setString(3, mail.template());
+                    ps.setString(4, mail.model());
+                }
+        );
+    }
+
+    // Claims up to limit due mails for this dispatcher; rows claimed concurrently by another one are skipped
+    public List<QueuedMail> claimDue(String claim, int limit) {
+        List<Long> due = jdbcTemplate.queryForList(
+                "SELECT id FROM mail_queue WHERE status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP(3) ORDER BY id LIMIT ?",
+                Long.class,
+                limit
+        );
+        if (due.isEmpty()) return List.of();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", due).addValue("claim", claim);
+        namedJdbcTemplate.update(
+                "UPDATE mail_queue SET status = 'SENDING', claim = :claim, claimed_at = CURRENT_TIMESTAMP(3) WHERE id IN (:ids) AND status = 'PENDING'",
+                params
+        );
+        return namedJdbcTemplate.query(
+                "SELECT id, mail_key, recipient, template, model, attempts FROM mail_queue WHERE id IN (:ids) AND claim = :claim AND status = 'SENDING' ORDER BY id",
+                params,
+                (rs, rowNum) -> new QueuedMail(
+                        rs.getLong("id"),
+                        rs.getString("mail_key"),
+                        rs.getString("recipient"),
+                        rs.getString("template"),
+                        rs.getString("model"),
+                        rs.getInt("attempts")
+                )
+        );
+    }
+
+    public void markSent(Collection<Long> ids) {
+        namedJdbcTemplate.update(
+                "UPDATE mail_queue SET status = 'SENT', sent_at = CURRENT_TIMESTAMP(3), claim = NULL WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids)
+        );
+    }
+
+    public void scheduleRetry(long id, int attempts, long delayMillis, String error) {
+        jdbcTemplate.update(
+                "UPDATE mail_queue SET status = 'PENDING', claim = NULL, attempts = ?, last_error = ?, next_attempt_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) WHERE id = ?",
+                attempts, error, delayMillis * 1_000, id
+        );
+    }
+
+    public void markFailed(long id, int attempts, String error) {
+        jdbcTemplate.update(
+                "UPDATE mail_queue SET status = 'FAILED', claim = NULL, attempts = ?, last_error = ? WHERE id = ?",
+                attempts, error, id
+        );
+    }
+
+    // Claims of a dispatcher that died mid-send go back to the queue; those mails may be sent twice
+    public int releaseStaleClaims(long olderThanSeconds) {
+        return jdbcTemplate.update(
+                "UPDATE mail_queue SET status = 'PENDING', claim = NULL WHERE status = 'SENDING' AND claimed_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))",
+                -olderThanSeconds
+        );
+    }
+
+    public int deleteSentOlderThan(long seconds, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM mail_queue WHERE status = 'SENT' AND sent_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)) LIMIT ?",
+                -seconds, limit
+        );
+    }
+}
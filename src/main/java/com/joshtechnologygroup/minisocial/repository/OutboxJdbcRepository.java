@@ -0,0 +1,126 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.outbox.OutboxRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Rows move PENDING -> CLAIMED (by one poller) -> PROCESSED, or back to PENDING with a later next_attempt_at
+// on failure. All times are taken from the database clock, so pollers on different hosts agree on what is due.
+@Repository
+public class OutboxJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public OutboxJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public void insert(String eventKey, String eventType, String payload) {
+        jdbcTemplate.update("INSERT INTO outbox_events (event_key, event_type, payload) VALUES (?, ?, ?)", eventKey, eventType, payload);
+    }
+
+    // Claims up to limit due events for this poller; rows claimed concurrently by another one are skipped.
+    // The first select is a range of idx_outbox_due.
+    public List<OutboxRecord> claimDue(String claim, int limit) {
+        List<Long> due = jdbcTemplate.queryForList(
+                "SELECT id FROM outbox_events WHERE status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP(3) ORDER BY id LIMIT ?",
+                Long.class,
+                limit
+        );
+        if (due.isEmpty()) return List.of();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", due).addValue("claim", claim);
+        namedJdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'CLAIMED', claim = :claim, claimed_at = CURRENT_TIMESTAMP(3) WHERE id IN (:ids) AND status = 'PENDING'",
+                params
+        );
+        return namedJdbcTemplate.query(
+                "SELECT id, event_key, event_type, payload, attempts FROM outbox_events WHERE id IN (:ids) AND claim = :claim AND status = 'CLAIMED' ORDER BY id",
+                params,
+                (rs, rowNum) -> new OutboxRecord(
+                        rs.getLong("id"),
+                        rs.getString("event_key"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getInt("attempts")
+                )
+        );
+    }
+
+    // The updates below only touch rows still held by the given claim, so a poller whose claim was
+    // released and taken over can not overwrite the outcome recorded by the new owner
+    public void markProcessed(String claim, Collection<Long> ids) {
+        namedJdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'PROCESSED', processed_at = CURRENT_TIMESTAMP(3), claim = NULL WHERE id IN (:ids) AND claim = :claim AND status = 'CLAIMED'",
+                new MapSqlParameterSource("ids", ids).addValue("claim", claim)
+        );
+    }
+
+    public void scheduleRetry(String claim, long id, int attempts, long delayMillis, String error) {
+        jdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'PENDING', claim = NULL, attempts = ?, last_error = ?, next_attempt_at = TIMESTAMPADD(MICROSECOND, ?, CURRENT_TIMESTAMP(3)) WHERE id = ? AND claim = ? AND status = 'CLAIMED'",
+                attempts, error, delayMillis * 1_000, id, claim
+        );
+    }
+
+    public void markFailed(String claim, long id, int attempts, String error) {
+        jdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'FAILED', claim = NULL, attempts = ?, last_error = ? WHERE id = ? AND claim = ? AND status = 'CLAIMED'",
+                attempts, error, id, claim
+        );
+    }
+
+    // Claims of a poller that died mid-batch go back to the queue; outbox_deliveries keeps subscribers
+    // that already handled those events from handling them again
+    public int releaseStaleClaims(long olderThanSeconds) {
+        return jdbcTemplate.update(
+                "UPDATE outbox_events SET status = 'PENDING', claim = NULL WHERE status = 'CLAIMED' AND claimed_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))",
+                -olderThanSeconds
+        );
+    }
+
+    public Set<String> findDelivered(String subscriber, Collection<String> eventKeys) {
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT event_key FROM outbox_deliveries WHERE subscriber = :subscriber AND event_key IN (:keys)",
+                new MapSqlParameterSource("subscriber", subscriber).addValue("keys", eventKeys),
+                String.class
+        ));
+    }
+
+    // A poller whose stale claim was taken over and that already delivered one of these fails on the
+    // primary key, rolling back its handler
+    public void recordDeliveries(String subscriber, List<String> eventKeys) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_deliveries (subscriber, event_key) VALUES (?, ?)",
+                eventKeys,
+                eventKeys.size(),
+                (ps, eventKey) -> {
+                    ps.setString(1, subscriber);
+                    ps.setString(2, eventKey);
+                }
+        );
+    }
+
+    // Deletes at most limit rows per call so the purge never holds long locks
+    public int deleteProcessedOlderThan(long seconds, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM outbox_events WHERE status = 'PROCESSED' AND processed_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)) LIMIT ?",
+                -seconds, limit
+        );
+    }
+
+    public int deleteDeliveriesOlderThan(long seconds, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM outbox_deliveries WHERE delivered_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)) LIMIT ?",
+                -seconds, limit
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.tools.ExportFilter;
+import com.joshtechnologygroup.minisocial.tools.UserRecord;
+import com.joshtechnologygroup.minisocial.util.JdbcStreamingUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Single pass export of users joined with their detail tables. Rows are streamed from the server
+// (fetchSize Integer.MIN_VALUE on MySQL) so memory use does not depend on the number of users.
+@Repository
+public class UserExportJdbcRepository {
+    private static final String SELECT = """
+            SELECT u.id, u.email, u.password, u.active,
+                   d.first_name, d.last_name, d.age, d.gender, d.marital_status,
+                   r.address AS r_address, r.city AS r_city, r.state AS r_state, r.country AS r_country,
+                   r.contact_no1, r.contact_no2,
+                   o.employee_code, o.address AS o_address, o.city AS o_city, o.state AS o_state, o.country AS o_country,
+                   o.company_contact_no, o.company_contact_email, o.company_name
+            FROM users u
+            LEFT JOIN user_details d ON d.user_id = u.id
+            LEFT JOIN residential_details r ON r.user_id = u.id
+            LEFT JOIN official_details o ON o.user_id = u.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void stream(ExportFilter filter, boolean includePasswordHash, Consumer<UserRecord> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.minAge() != null) {
+            sql.append(" AND d.age >= ?");
+            args.add(filter.minAge());
+        }
+        if (filter.maxAge() != null) {
+            sql.append(" AND d.age <= ?");
+            args.add(filter.maxAge());
+        }
+        if (filter.city() != null) {
+            sql.append(" AND r.city = ?");
+            args.add(filter.city());
+        }
+        if (filter.companyName() != null) {
+            sql.append(" AND o.company_name = ?");
+            args.add(filter.companyName());
+        }
+
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = JdbcStreamingUtil.prepareStreaming(connection, sql.toString());
+                    for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+                    return ps;
+                },
+                rs -> {
+                    consumer.accept(toRecord(rs, includePasswordHash));
+                }
+        );
+    }
+
+    private static UserRecord toRecord(ResultSet rs, boolean includePasswordHash) throws SQLException {
+        String gender = rs.getString("gender");
+        String maritalStatus = rs.getString("marital_status");
+        Integer age = rs.getObject("age") == null ? null : rs.getInt("age");
+        return new UserRecord(
+                rs.getLong("id"),
+                rs.getString("email"),
+                null,
+                includePasswordHash ? rs.getString("password") : null,
+                rs.getBoolean("active"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                age,
+                gender == null ? null : Gender.valueOf(gender),
+                maritalStatus == null ? null : MaritalStatus.valueOf(maritalStatus),
+                rs.getString("r_address"),
+                rs.getString("r_city"),
+                rs.getString("r_state"),
+                rs.getString("r_country"),
+                rs.getString("contact_no1"),
+                rs.getString("contact_no2"),
+                rs.getString("employee_code"),
+                rs.getString("o_address"),
+                rs.getString("o_city"),
+                rs.getString("o_state"),
+                rs.getString("o_country"),
+                rs.getString("company_contact_no"),
+                rs.getString("company_contact_email"),
+                rs.getString("company_name")
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.tools.UserRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+
+// Multi-row INSERT statements for the bulk import tool. Callers leave out users that already exist
+// (findIdsByEmail), so a replayed chunk inserts nothing twice; any other constraint failure is an error
+// instead of a row that MySQL silently truncated or dropped, as INSERT IGNORE would.
+@Repository
+public class UserImportJdbcRepository {
+    // MySQL accepts at most 65,535 placeholders per statement and official_details has 9 columns
+    public static final int MAX_ROWS_PER_STATEMENT = 65_535 / 9;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public UserImportJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    // Reserves count user ids from the same id_allocations row as User's table generator and returns the first.
+    // Run it in its own short transaction: the row stays locked until commit and blocks JPA id allocation meanwhile.
+    public long allocateUserIds(int count) {
+        Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_allocations WHERE name = ? FOR UPDATE",
+                Long.class, User.ID_ALLOCATION);
+        if (next == null) throw new IllegalStateException("Missing id_allocations row " + User.ID_ALLOCATION);
+        jdbcTemplate.update("UPDATE id_allocations SET next_val = ? WHERE name = ?", next + count, User.ID_ALLOCATION);
+        return next;
+    }
+
+    // Records get the ids firstId, firstId + 1, ... in order
+    public int insertUsers(List<UserRecord> records, long firstId) {
+        long[] id = {firstId};
+        return insert("users (id, email, password, active)", 4, records, r -> new Object[]{
+                id[0]++, r.email(), r.passwordHash(), r.active() == null ? Boolean.TRUE : r.active()
+        });
+    }
+
+    public Map<String, Long> findIdsByEmail(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query(
+                "SELECT id, email FROM users WHERE email IN (:emails)",
+                new MapSqlParameterSource("emails", emails),
+                rs -> {
+                    ids.put(rs.getString("email"), rs.getLong("id"));
+                }
+        );
+        return ids;
+    }
+
+    public int insertUserDetails(Map<Long, UserRecord> records) {
+        return insert("user_details (user_id, first_name, last_name, age, gender, marital_status)", 6,
+                records.entrySet(), e -> new Object[]{
+                        e.getKey(), e.getValue().firstName(), e.getValue().lastName(), e.getValue().age(),
+                        e.getValue().gender().name(),
+                        e.getValue().maritalStatus() == null ? "SINGLE" : e.getValue().maritalStatus().name()
+                });
+    }
+
+    public int insertResidentialDetails(Map<Long, UserRecord> records) {
+        return insert("residential_details (user_id, address, city, state, country, contact_no1, contact_no2)", 7,
+                records.entrySet(), e -> new Object[]{
+                        e.getKey(), e.getValue().residentialAddress(), e.getValue().residentialCity(),
+                        e.getValue().residentialState(), e.getValue().residentialCountry(),
+                        e.getValue().contactNo1(), e.getValue().contactNo2()
+                });
+    }
+
+    public int insertOfficialDetails(Map<Long, UserRecord> records) {
+        return insert("official_details (user_id, employee_code, address, city, state, country, company_contact_no, company_contact_email, company_name)", 9,
+                records.entrySet(), e -> new Object[]{
+                        e.getKey(), e.getValue().employeeCode(), e.getValue().officialAddress(), e.getValue().officialCity(),
+                        e.getValue().officialState(), e.getValue().officialCountry(), e.getValue().companyContactNo(),
+                        e.getValue().companyContactEmail(), e.getValue().companyName()
+                });
+    }
+
+    // Builds "INSERT INTO <table> VALUES (?,..),(?,..)" for the whole chunk and runs it in one round trip
+    private <T> int insert(String tableAndColumns, int columnCount, Collection<T> rows, Function<T, Object[]> toValues) {
+        if (rows.isEmpty()) return 0;
+        if (rows.size() > MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS_PER_STATEMENT + " rows per statement, got " + rows.size());
+        }
+
+        String tuple = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(rows.size() * columnCount);
+        for (T row : rows) {
+            values.add(tuple);
+            args.addAll(Arrays.asList(toValues.apply(row)));
+        }
+        return jdbcTemplate.update("INSERT INTO " + tableAndColumns + " VALUES " + values, args.toArray());
+    }
+}
@@ -0,0 +1,19 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+
+import java.util.Optional;
+
+// Spring Data fragment of UserRepository, implemented by UserNaturalIdRepositoryImpl
+public interface UserNaturalIdRepository {
+    // Natural id lookup: email -> id from the natural id cache, then the User from the entity cache
+    Optional<User> findByEmail(String email);
+
+    // Always reads the row from the primary database and refreshes the cached copy. For credentials and
+    // read-modify-write, where neither a stale cached copy nor a lagging replica may be used.
+    Optional<User> findFreshByEmail(String email);
+
+    // findFreshByEmail holding the row lock until the caller's transaction ends, for updates that must not
+    // interleave with another read-modify-write of the same user
+    Optional<User> findFreshByEmailForUpdate(String email);
+}
@@ -0,0 +1,51 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Transactional so the unwrapped Session is bound to a transaction rather than closed right after unwrap()
+@Transactional(readOnly = true)
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+    private final EntityManager entityManager;
+
+    public UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    // Read-write transaction, so with a replica configured this goes to the primary
+    @Override
+    @Transactional
+    public Optional<User> findFreshByEmail(String email) {
+        return entityManager.createQuery("SELECT u FROM User u WHERE u.email = :email", User.class)
+                .setParameter("email", email)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.REFRESH)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Joins the caller's transaction, which must be a read-write one
+    @Override
+    @Transactional
+    public Optional<User> findFreshByEmailForUpdate(String email) {
+        return entityManager.createQuery("SELECT u FROM User u WHERE u.email = :email", User.class)
+                .setParameter("email", email)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.REFRESH)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,136 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.dto.UserProfile;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Profiles of User and its three @MapsId children. The joined scalar projection costs one statement per call
+// and puts no entities in the persistence context. With the second-level cache enabled single profiles are
+// assembled from the cached entities instead, which costs no statement at all once they are warm.
+@Repository
+public class UserProfileRepository {
+    private static final String PROFILE_QUERY = """
+            SELECT u.id AS id, u.email AS email, u.active AS active, u.createdAt AS createdAt,
+                   u.followerCount AS followerCount, u.followingCount AS followingCount,
+                   d.userId AS detailId, d.firstName AS firstName, d.lastName AS lastName, d.age AS age,
+                   d.gender AS gender, d.maritalStatus AS maritalStatus,
+                   r.userId AS residentialId, r.address AS residentialAddress, r.city AS residentialCity,
+                   r.state AS residentialState, r.country AS residentialCountry,
+                   r.contactNo1 AS contactNo1, r.contactNo2 AS contactNo2,
+                   o.userId AS officialId, o.employeeCode AS employeeCode, o.address AS officialAddress,
+                   o.city AS officialCity, o.state AS officialState, o.country AS officialCountry,
+                   o.companyContactNo AS companyContactNo, o.companyContactEmail AS companyContactEmail,
+                   o.companyName AS companyName
+            FROM User u
+            LEFT JOIN UserDetail d ON d.userId = u.id
+            LEFT JOIN ResidentialDetail r ON r.userId = u.id
+            LEFT JOIN OfficialDetail o ON o.userId = u.id
+            """;
+
+    private final EntityManager entityManager;
+    private final ApiConfig apiConfig;
+
+    public UserProfileRepository(EntityManager entityManager, ApiConfig apiConfig) {
+        this.entityManager = entityManager;
+        this.apiConfig = apiConfig;
+    }
+
+    public Optional<UserProfile> findProfile(long userId) {
+        return apiConfig.isSecondLevelCacheEnabled() ? findCachedProfile(userId) : findJoinedProfile(userId);
+    }
+
+    public Optional<UserProfile> findJoinedProfile(long userId) {
+        return entityManager.createQuery(PROFILE_QUERY + "WHERE u.id = :userId", Tuple.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .findFirst()
+                .map(UserProfileRepository::toProfile);
+    }
+
+    // Four primary key lookups, each answered by its cache region when present. A missing detail row is
+    // not cached, so profiles without details keep paying a lookup for that section.
+    public Optional<UserProfile> findCachedProfile(long userId) {
+        User user = entityManager.find(User.class, userId);
+        if (user == null) return Optional.empty();
+        UserDetail detail = entityManager.find(UserDetail.class, userId);
+        ResidentialDetail residential = entityManager.find(ResidentialDetail.class, userId);
+        OfficialDetail official = entityManager.find(OfficialDetail.class, userId);
+        return Optional.of(new UserProfile(
+                user.getId(),
+                user.getEmail(),
+                user.getActive(),
+                user.getCreatedAt(),
+                user.getFollowerCount(),
+                user.getFollowingCount(),
+                detail == null ? null : new UserProfile.Personal(detail.getFirstName(), detail.getLastName(), detail.getAge(),
+                        detail.getGender(), detail.getMaritalStatus()),
+                residential == null ? null : new UserProfile.Residential(residential.getAddress(), residential.getCity(),
+                        residential.getState(), residential.getCountry(), residential.getContactNo1(), residential.getContactNo2()),
+                official == null ? null : new UserProfile.Official(official.getEmployeeCode(), official.getAddress(), official.getCity(),
+                        official.getState(), official.getCountry(), official.getCompanyContactNo(), official.getCompanyContactEmail(),
+                        official.getCompanyName())
+        ));
+    }
+
+    // Batched variant, one IN query for all ids. Unknown ids are skipped, rows come back in id order.
+    public List<UserProfile> findProfiles(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return List.of();
+        return entityManager.createQuery(PROFILE_QUERY + "WHERE u.id IN :userIds ORDER BY u.id", Tuple.class)
+                .setParameter("userIds", userIds)
+                .getResultStream()
+                .map(UserProfileRepository::toProfile)
+                .toList();
+    }
+
+    private static UserProfile toProfile(Tuple row) {
+        UserProfile.Personal personal = row.get("detailId") == null ? null : new UserProfile.Personal(
+                row.get("firstName", String.class),
+                row.get("lastName", String.class),
+                row.get("age", Integer.class),
+                row.get("gender", Gender.class),
+                row.get("maritalStatus", MaritalStatus.class)
+        );
+        UserProfile.Residential residential = row.get("residentialId") == null ? null : new UserProfile.Residential(
+                row.get("residentialAddress", String.class),
+                row.get("residentialCity", String.class),
+                row.get("residentialState", String.class),
+                row.get("residentialCountry", String.class),
+                row.get("contactNo1", String.class),
+                row.get("contactNo2", String.class)
+        );
+        UserProfile.Official official = row.get("officialId") == null ? null : new UserProfile.Official(
+                row.get("employeeCode", String.class),
+                row.get("officialAddress", String.class),
+                row.get("officialCity", String.class),
+                row.get("officialState", String.class),
+                row.get("officialCountry", String.class),
+                row.get("companyContactNo", String.class),
+                row.get("companyContactEmail", String.class),
+                row.get("companyName", String.class)
+        );
+        return new UserProfile(
+                row.get("id", Long.class),
+                row.get("email", String.class),
+                row.get("active", Boolean.class),
+                row.get("createdAt", Instant.class),
+                row.get("followerCount", Long.class),
+                row.get("followingCount", Long.class),
+                personal,
+                residential,
+                official
+        );
+    }
+}
@@ -1,10 +1,62 @@
 package com.joshtechnologygroup.minisocial.repository;
 
 import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.dto.FollowCounts;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+// findByEmail comes from UserNaturalIdRepository.
+// Native counter updates declare their own "follow_counters" query space, otherwise Hibernate drops every
+// second-level cache region on each follow. The affected User entries are evicted by FollowCounterCacheEvictor.
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    @Query("SELECT new com.joshtechnologygroup.minisocial.dto.FollowCounts(u.id, u.followerCount, u.followingCount) FROM User u WHERE u.id = :userId")
+    Optional<FollowCounts> findFollowCounts(@Param("userId") long userId);
+
+    // Both rows are updated by one statement so they are locked in index order, avoiding deadlocks between opposite follows
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "follow_counters"))
+    @Query(value = """
+            UPDATE users
+            SET follower_count  = follower_count + CASE WHEN id = :followedUser THEN :delta ELSE 0 END,
+                following_count = following_count + CASE WHEN id = :followingUser THEN :delta ELSE 0 END
+            WHERE id IN (:followedUser, :followingUser)
+            """, nativeQuery = true)
+    int adjustFollowCounts(@Param("followedUser") long followedUser, @Param("followingUser") long followingUser, @Param("delta") long delta);
+
+    // Rewrites the counters of users in [fromId, toId] that differ from the edge table, returns the number of corrected rows
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "follow_counters"))
+    @Query(value = """
+            UPDATE users u
+                LEFT JOIN (SELECT followed_user AS user_id, COUNT(*) AS c
+                           FROM followers
+                           WHERE followed_user BETWEEN :fromId AND :toId
+                           GROUP BY followed_user) fr ON fr.user_id = u.id
+                LEFT JOIN (SELECT following_user AS user_id, COUNT(*) AS c
+                           FROM followers
+                           WHERE following_user BETWEEN :fromId AND :toId
+                           GROUP BY following_user) fg ON fg.user_id = u.id
+            SET u.follower_count  = COALESCE(fr.c, 0),
+                u.following_count = COALESCE(fg.c, 0)
+            WHERE u.id BETWEEN :fromId AND :toId
+              AND (u.follower_count <> COALESCE(fr.c, 0) OR u.following_count <> COALESCE(fg.c, 0))
+            """, nativeQuery = true)
+    int reconcileFollowCounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Not mapped on User, so the update declares its own query space and leaves the cached users alone
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pulled_posts"))
+    @Query(value = "UPDATE users SET has_pulled_posts = TRUE WHERE id = :userId AND has_pulled_posts = FALSE", nativeQuery = true)
+    int markHasPulledPosts(@Param("userId") long userId);
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM User u")
+    long findMaxId();
 }
@@ -0,0 +1,81 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.dto.UserSearchCriteria;
+import com.joshtechnologygroup.minisocial.dto.UserSearchResult;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Builds the search query from the filters that are actually set, so every predicate is sargable:
+// equality before range (idx_user_details_status_age), plain equality on city/company indexes,
+// inner joins only for tables that are filtered on and keyset pagination on user_id.
+//
+// With equality filters only (marital status, city, company and office city) the matching index entries
+// are already in user_id order, the InnoDB primary key suffix, so ORDER BY user_id LIMIT stops after one
+// page. An age range breaks that: idx_user_details_status_age returns (age, user_id) order, and every row
+// in the range is sorted to find the page. That filesort is accepted deliberately. Ordering by the index
+// prefix would need an (age, user_id) cursor and would page results by age, not by user. A narrow age
+// band is selective enough that sorting its rows is cheap. For a wide band the optimizer can instead walk
+// the primary key from :after and stop after limit matches.
+@Repository
+public class UserSearchJdbcRepository {
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public UserSearchJdbcRepository(NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    public List<UserSearchResult> search(UserSearchCriteria criteria, long after, int limit) {
+        boolean filterResidential = criteria.city() != null;
+        boolean filterOfficial = criteria.officialCity() != null || criteria.companyName() != null;
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT d.user_id, d.first_name, d.last_name, d.age, d.marital_status, r.city, o.company_name
+                FROM user_details d
+                """)
+                .append(filterResidential ? "JOIN" : "LEFT JOIN").append(" residential_details r ON r.user_id = d.user_id\n")
+                .append(filterOfficial ? "JOIN" : "LEFT JOIN").append(" official_details o ON o.user_id = d.user_id\n")
+                .append("WHERE d.user_id > :after");
+        MapSqlParameterSource params = new MapSqlParameterSource("after", after)
+                .addValue("limit", limit);
+
+        if (criteria.maritalStatus() != null) {
+            sql.append(" AND d.marital_status = :maritalStatus");
+            params.addValue("maritalStatus", criteria.maritalStatus().name());
+        }
+        if (criteria.minAge() != null) {
+            sql.append(" AND d.age >= :minAge");
+            params.addValue("minAge", criteria.minAge());
+        }
+        if (criteria.maxAge() != null) {
+            sql.append(" AND d.age <= :maxAge");
+            params.addValue("maxAge", criteria.maxAge());
+        }
+        if (criteria.city() != null) {
+            sql.append(" AND r.city = :city");
+            params.addValue("city", criteria.city());
+        }
+        if (criteria.companyName() != null) {
+            sql.append(" AND o.company_name = :companyName");
+            params.addValue("companyName", criteria.companyName());
+        }
+        if (criteria.officialCity() != null) {
+            sql.append(" AND o.city = :officialCity");
+            params.addValue("officialCity", criteria.officialCity());
+        }
+        sql.append(" ORDER BY d.user_id LIMIT :limit");
+
+        return namedJdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new UserSearchResult(
+                rs.getLong("user_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getInt("age"),
+                MaritalStatus.valueOf(rs.getString("marital_status")),
+                rs.getString("city"),
+                rs.getString("company_name")
+        ));
+    }
+}
@@ -0,0 +1,103 @@
+package com.joshtechnologygroup.minisocial.search;
+
+import java.util.*;
+import java.util.function.LongPredicate;
+
+// Immutable prefix index over parallel sorted arrays: a prefix query is one binary search followed
+// by a sequential scan, no per-node objects like a pointer based trie.
+public final class PrefixIndex {
+    public static final PrefixIndex EMPTY = new PrefixIndex(new String[0], new String[0], new long[0]);
+
+    // Normalized keys in sorted order, values/ids are aligned with keys
+    private final String[] keys;
+    private final String[] values;
+    private final long[] ids;
+
+    private PrefixIndex(String[] keys, String[] values, long[] ids) {
+        this.keys = keys;
+        this.values = values;
+        this.ids = ids;
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    // Rough retained size: array slots, String headers and their latin1/utf16 contents
+    public long estimatedBytes() {
+        long bytes = 3 * 16L + (long) keys.length * (2 * 4 + 8);
+        for (int i = 0; i < keys.length; i++) {
+            bytes += 40L + keys[i].length();
+            // Keys and values share the same String when the value is already normalized
+            if (values[i] != keys[i]) bytes += 40L + values[i].length();
+        }
+        return bytes;
+    }
+
+    // First k matches in key order, skipping excluded ids and returning each id at most once
+    public void search(String normalizedPrefix, int k, LongPredicate exclude, Set<Long> seen, List<TypeaheadMatch> out) {
+        int i = lowerBound(normalizedPrefix);
+        while (i < keys.length && out.size() < k && keys[i].startsWith(normalizedPrefix)) {
+            long id = ids[i];
+            if (!exclude.test(id) && seen.add(id)) {
+                out.add(new TypeaheadMatch(id, values[i]));
+            }
+            i++;
+        }
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+        private long[] ids = new long[1024];
+
+        public Builder add(String key, String value, long id) {
+            String normalized = normalize(key);
+            if (normalized.isEmpty()) return this;
+            if (keys.size() == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+            ids[keys.size()] = id;
+            keys.add(normalized);
+            values.add(value.equals(normalized) ? normalized : value);
+            return this;
+        }
+
+        public PrefixIndex build() {
+            int n = keys.size();
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> {
+                int c = keys.get(a).compareTo(keys.get(b));
+                return c != 0 ? c : Long.compare(ids[a], ids[b]);
+            });
+
+            String[] sortedKeys = new String[n];
+            String[] sortedValues = new String[n];
+            long[] sortedIds = new long[n];
+            for (int i = 0; i < n; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedValues[i] = values.get(order[i]);
+                sortedIds[i] = ids[order[i]];
+            }
+            return new PrefixIndex(sortedKeys, sortedValues, sortedIds);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.joshtechnologygroup.minisocial.search;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Keeps TypeaheadIndex current for changes made through JPA. Updates are applied after commit
+// so a rolled back transaction never shows up in suggestions. Bulk JDBC writes are picked up by the next rebuild.
+@Component
+public class TypeaheadEntityListener {
+    private final TypeaheadIndex typeaheadIndex;
+
+    public TypeaheadEntityListener(TypeaheadIndex typeaheadIndex) {
+        this.typeaheadIndex = typeaheadIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof UserDetail detail) {
+            afterCommit(() -> typeaheadIndex.updateName(detail.getUserId(), detail.getFirstName(), detail.getLastName()));
+        } else if (entity instanceof OfficialDetail detail) {
+            afterCommit(() -> typeaheadIndex.updateCompany(detail.getUserId(), detail.getCompanyName()));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof UserDetail detail) {
+            afterCommit(() -> typeaheadIndex.remove(TypeaheadField.NAME, detail.getUserId()));
+        } else if (entity instanceof OfficialDetail detail) {
+            afterCommit(() -> typeaheadIndex.remove(TypeaheadField.COMPANY, detail.getUserId()));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
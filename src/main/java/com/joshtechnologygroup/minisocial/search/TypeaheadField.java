@@ -0,0 +1,8 @@
+package com.joshtechnologygroup.minisocial.search;
+
+public enum TypeaheadField {
+    // UserDetail.firstName / lastName, also matches on "first last"
+    NAME,
+    // OfficialDetail.companyName
+    COMPANY
+}
@@ -0,0 +1,199 @@
+package com.joshtechnologygroup.minisocial.search;
+
+import com.joshtechnologygroup.minisocial.util.JdbcStreamingUtil;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process typeahead over user names and company names.
+// Reads go to an immutable PrefixIndex snapshot plus an overlay of entity changes since the
+// last rebuild, both searched by prefix range. Rebuilds run in the background from the database and swap the snapshot atomically.
+@Component
+@Slf4j
+public class TypeaheadIndex {
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private final Timer rebuildTimer;
+
+    private volatile Map<TypeaheadField, PrefixIndex> snapshot = new EnumMap<>(Map.of(
+            TypeaheadField.NAME, PrefixIndex.EMPTY,
+            TypeaheadField.COMPANY, PrefixIndex.EMPTY
+    ));
+
+    private final Map<TypeaheadField, Overlay> overlays = new EnumMap<>(Map.of(
+            TypeaheadField.NAME, new Overlay(),
+            TypeaheadField.COMPANY, new Overlay()
+    ));
+    private final AtomicLong sequence = new AtomicLong();
+
+    private record OverlayEntry(long sequence, String value, List<String> keys) { }
+
+    private record OverlayKey(String key, long userId) {
+        static final Comparator<OverlayKey> ORDER = Comparator.comparing(OverlayKey::key).thenComparingLong(OverlayKey::userId);
+    }
+
+    // Changes since the snapshot was loaded, keyed by user id. An entry with no keys is a deletion.
+    // The keys of all entries are also kept sorted, so a search range-scans its prefix instead of
+    // every change since the last rebuild. Writers serialize on the overlay, readers never lock.
+    private static final class Overlay {
+        private final ConcurrentHashMap<Long, OverlayEntry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<OverlayKey> keys = new ConcurrentSkipListSet<>(OverlayKey.ORDER);
+
+        synchronized void put(long userId, OverlayEntry entry) {
+            OverlayEntry previous = entries.put(userId, entry);
+            if (previous != null) removeKeys(userId, previous);
+            entry.keys().forEach(key -> keys.add(new OverlayKey(key, userId)));
+        }
+
+        synchronized void removeUpTo(long sequence) {
+            entries.forEach((userId, entry) -> {
+                if (entry.sequence() <= sequence && entries.remove(userId, entry)) removeKeys(userId, entry);
+            });
+        }
+
+        private void removeKeys(long userId, OverlayEntry entry) {
+            entry.keys().forEach(key -> keys.remove(new OverlayKey(key, userId)));
+        }
+    }
+
+    public TypeaheadIndex(JdbcTemplate jdbcTemplate, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "typeahead-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rebuildTimer = Timer.builder("typeahead.rebuild.time")
+                .description("Time to rebuild the typeahead index from the database")
+                .register(meterRegistry);
+        Gauge.builder("typeahead.index.bytes", this, TypeaheadIndex::estimatedBytes)
+                .description("Estimated heap retained by the typeahead index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("typeahead.index.entries", this, index -> index.snapshot.values().stream().mapToInt(PrefixIndex::size).sum())
+                .register(meterRegistry);
+    }
+
+    public List<TypeaheadMatch> search(TypeaheadField field, String prefix, int k) {
+        String normalized = PrefixIndex.normalize(prefix);
+        if (normalized.isEmpty()) return List.of();
+
+        List<TypeaheadMatch> matches = new ArrayList<>(k);
+        Set<Long> seen = new HashSet<>();
+        Overlay overlay = overlays.get(field);
+
+        // Overlay first: it holds the latest state for the ids it contains
+        for (OverlayKey key : overlay.keys.tailSet(new OverlayKey(normalized, Long.MIN_VALUE))) {
+            if (matches.size() >= k || !key.key().startsWith(normalized)) break;
+            OverlayEntry entry = overlay.entries.get(key.userId());
+            // Skips keys of an entry a concurrent update has just replaced
+            if (entry != null && entry.keys().contains(key.key()) && seen.add(key.userId())) {
+                matches.add(new TypeaheadMatch(key.userId(), entry.value()));
+            }
+        }
+        snapshot.get(field).search(normalized, k, overlay.entries::containsKey, seen, matches);
+        return matches;
+    }
+
+    public void updateName(long userId, String firstName, String lastName) {
+        String display = lastName == null ? firstName : firstName + " " + lastName;
+        putOverlay(TypeaheadField.NAME, userId, display, nameKeys(firstName, lastName));
+    }
+
+    public void updateCompany(long userId, String companyName) {
+        putOverlay(TypeaheadField.COMPANY, userId, companyName, List.of(PrefixIndex.normalize(companyName)));
+    }
+
+    public void remove(TypeaheadField field, long userId) {
+        putOverlay(field, userId, null, List.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuildAsync();
+    }
+
+    @Scheduled(
+            initialDelayString = "${api.service.typeahead-rebuild-interval:PT15M}",
+            fixedDelayString = "${api.service.typeahead-rebuild-interval:PT15M}"
+    )
+    public void scheduledRebuild() {
+        rebuildAsync();
+    }
+
+    public void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Typeahead index rebuild failed", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    // Builds a new snapshot off to the side, readers keep using the old one until the swap. Both tables
+    // are streamed, only the index being built is held in memory.
+    void rebuild() {
+        long startSequence = sequence.get();
+        Map<TypeaheadField, PrefixIndex> next = rebuildTimer.record(() -> {
+            PrefixIndex.Builder names = PrefixIndex.builder();
+            jdbcTemplate.query(connection -> JdbcStreamingUtil.prepareStreaming(connection, "SELECT user_id, first_name, last_name FROM user_details"), rs -> {
+                long id = rs.getLong(1);
+                String firstName = rs.getString(2);
+                String lastName = rs.getString(3);
+                String display = lastName == null ? firstName : firstName + " " + lastName;
+                nameKeys(firstName, lastName).forEach(key -> names.add(key, display, id));
+            });
+
+            PrefixIndex.Builder companies = PrefixIndex.builder();
+            jdbcTemplate.query(connection -> JdbcStreamingUtil.prepareStreaming(connection, "SELECT user_id, company_name FROM official_details"), rs -> {
+                companies.add(rs.getString(2), rs.getString(2), rs.getLong(1));
+            });
+
+            return new EnumMap<>(Map.of(TypeaheadField.NAME, names.build(), TypeaheadField.COMPANY, companies.build()));
+        });
+        snapshot = next;
+
+        // Changes made before the rebuild started are now part of the snapshot
+        overlays.values().forEach(overlay -> overlay.removeUpTo(startSequence));
+        log.info("Typeahead index rebuilt: {} names, {} companies, ~{} bytes",
+                next.get(TypeaheadField.NAME).size(), next.get(TypeaheadField.COMPANY).size(), estimatedBytes());
+    }
+
+    private long estimatedBytes() {
+        return snapshot.values().stream().mapToLong(PrefixIndex::estimatedBytes).sum();
+    }
+
+    private void putOverlay(TypeaheadField field, long userId, String value, List<String> keys) {
+        overlays.get(field).put(userId, new OverlayEntry(sequence.incrementAndGet(), value, keys));
+    }
+
+    private static List<String> nameKeys(String firstName, String lastName) {
+        if (lastName == null || lastName.isBlank()) return List.of(PrefixIndex.normalize(firstName));
+        return List.of(
+                PrefixIndex.normalize(firstName),
+                PrefixIndex.normalize(lastName),
+                PrefixIndex.normalize(firstName + " " + lastName)
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.joshtechnologygroup.minisocial.search;
+
+public record TypeaheadMatch(
+        long userId,
+        String value
+) { }
@@ -5,7 +5,11 @@ import com.joshtechnologygroup.minisocial.repository.UserRepository;
 import com.joshtechnologygroup.minisocial.dto.UpdatePasswordRequest;
 import com.joshtechnologygroup.minisocial.dto.UserLogin;
 import com.joshtechnologygroup.minisocial.exception.InvalidUserCredentialsException;
+import com.joshtechnologygroup.minisocial.exception.ServiceOverloadedException;
 import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import com.joshtechnologygroup.minisocial.util.OutcomeTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -21,15 +25,19 @@ public class AuthService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final OutcomeTimers loginTimers;
 
-    public AuthService(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserRepository userRepository, UserService userService) {
+    public AuthService(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserRepository userRepository, UserService userService, MeterRegistry meterRegistry) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.loginTimers = new OutcomeTimers(meterRegistry, "auth.login", "Time spent on a login attempt, including password matching",
+                "success", "bad_credentials", "overloaded");
     }
 
     public String authenticate(UserLogin user) {
+        Timer.Sample sample = loginTimers.start();
         try {
             log.debug("Attempting to authenticate user {}", user.email());
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.email(), user.password()));
@@ -38,9 +46,15 @@ public class AuthService {
             String jwt = jwtUtil.generateToken(user.email(), dbUser.get().getId());
 
             log.info("Successful login for user {}, JWT issued: {}", user.email(), jwt);
+            loginTimers.stop(sample, "success");
 
             return jwt;
+        } catch (ServiceOverloadedException e) {
+            loginTimers.stop(sample, "overloaded");
+            log.warn("Password hashing capacity exhausted, rejecting login for {}", user.email());
+            throw e;
         } catch (Exception e) {
+            loginTimers.stop(sample, "bad_credentials");
             log.debug("Exception in authenticate(): {}", e.getMessage());
             throw new InvalidUserCredentialsException();
         }
@@ -0,0 +1,114 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.Post;
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.FollowCounts;
+import com.joshtechnologygroup.minisocial.dto.PostView;
+import com.joshtechnologygroup.minisocial.event.PostCreatedEvent;
+import com.joshtechnologygroup.minisocial.exception.UserNotFoundException;
+import com.joshtechnologygroup.minisocial.feed.TimelineBuffer;
+import com.joshtechnologygroup.minisocial.feed.TimelineStore;
+import com.joshtechnologygroup.minisocial.repository.FeedJdbcRepository;
+import com.joshtechnologygroup.minisocial.repository.PostRepository;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Home feed of posts by followed users, newest first. Posts by regular accounts are pushed into
+// followers' timelines on write (FanOutWorker); posts by accounts at or above the celebrity threshold
+// are pulled at read time and merged in, so one post never costs millions of timeline writes.
+@Service
+@Slf4j
+public class FeedService {
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final FeedJdbcRepository feedJdbcRepository;
+    private final TimelineStore timelineStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApiConfig apiConfig;
+
+    public FeedService(PostRepository postRepository, UserRepository userRepository, FeedJdbcRepository feedJdbcRepository, TimelineStore timelineStore, ApplicationEventPublisher eventPublisher, ApiConfig apiConfig) {
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.feedJdbcRepository = feedJdbcRepository;
+        this.timelineStore = timelineStore;
+        this.eventPublisher = eventPublisher;
+        this.apiConfig = apiConfig;
+    }
+
+    // The delivery mode is fixed per post, so an author crossing the threshold never loses or doubles posts
+    @Transactional
+    public PostView createPost(long authorId, String content) {
+        FollowCounts counts = userRepository.findFollowCounts(authorId)
+                .orElseThrow(() -> new UserNotFoundException(authorId));
+
+        Post post = new Post();
+        post.setAuthorId(authorId);
+        post.setContent(content);
+        post.setFannedOut(counts.followers() < apiConfig.getFeedCelebrityFollowerThreshold());
+        postRepository.save(post);
+        if (!post.isFannedOut()) {
+            userRepository.markHasPulledPosts(authorId);
+        }
+
+        eventPublisher.publishEvent(new PostCreatedEvent(post.getId(), authorId, post.isFannedOut()));
+        log.debug("User {} created post {} (fanned out: {})", authorId, post.getId(), post.isFannedOut());
+        return toView(post);
+    }
+
+    // Pass the previous page's nextCursor as "before" to get the next (older) page
+    @Transactional(readOnly = true)
+    public CursorPage<PostView> getFeed(long viewerId, long before, int limit) {
+        int wanted = limit + 1;
+        TimelineBuffer timeline = timelineStore.timeline(viewerId);
+        List<Long> pushed = Arrays.stream(timeline.before(before, wanted)).boxed().toList();
+        if (pushed.size() < wanted && timeline.isTruncated()) {
+            // Paging past the oldest post the timeline still holds
+            pushed = feedJdbcRepository.findFeedIds(viewerId, true, before, wanted);
+        }
+        List<Long> pulled = feedJdbcRepository.findFeedIds(viewerId, false, before, wanted);
+        List<Long> ids = merge(pushed, pulled, wanted);
+
+        Map<Long, Post> posts = postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostView> items = ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .map(FeedService::toView)
+                .toList();
+        return CursorPage.of(items, limit, PostView::id);
+    }
+
+    // Merges two id lists sorted newest first into one, keeping at most limit ids
+    static List<Long> merge(List<Long> first, List<Long> second, int limit) {
+        List<Long> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size() || (i < first.size() && first.get(i) > second.get(j))) {
+                merged.add(first.get(i++));
+            } else if (i == first.size() || second.get(j) > first.get(i)) {
+                merged.add(second.get(j++));
+            } else {
+                merged.add(first.get(i++));
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    private static PostView toView(Post post) {
+        return new PostView(post.getId(), post.getAuthorId(), post.getContent(), post.getCreatedAt());
+    }
+}
@@ -0,0 +1,64 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.cache.FollowCounterCacheEvictor;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Periodically rewrites users.follower_count / following_count from the followers table.
+// Works in id ranges with one short transaction each, so it never holds locks on the whole table.
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "api.service", name = "follow-counter-reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class FollowCounterReconciler {
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final FollowCounterCacheEvictor cacheEvictor;
+    private final int batchSize;
+    private final Counter correctedCounter;
+
+    public FollowCounterReconciler(UserRepository userRepository, TransactionTemplate transactionTemplate, FollowCounterCacheEvictor cacheEvictor, ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheEvictor = cacheEvictor;
+        this.batchSize = apiConfig.getFollowCounterReconcileBatchSize();
+        this.correctedCounter = Counter.builder("follow.counters.corrected")
+                .description("User rows whose follower/following counters drifted and were rewritten")
+                .register(meterRegistry);
+    }
+
+    public record Report(long scanned, long corrected) { }
+
+    @Scheduled(
+            initialDelayString = "${api.service.follow-counter-reconcile-interval:PT1H}",
+            fixedDelayString = "${api.service.follow-counter-reconcile-interval:PT1H}"
+    )
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public Report reconcile() {
+        long start = System.currentTimeMillis();
+        long maxId = userRepository.findMaxId();
+        long corrected = 0;
+
+        for (long batchStart = 1; batchStart <= maxId; batchStart += batchSize) {
+            long fromId = batchStart;
+            long toId = Math.min(batchStart + batchSize - 1, maxId);
+            Integer fixed = transactionTemplate.execute(status -> userRepository.reconcileFollowCounts(fromId, toId));
+            corrected += fixed == null ? 0 : fixed;
+        }
+
+        if (corrected > 0) cacheEvictor.evictAll();
+        correctedCounter.increment(corrected);
+        log.info("Follow counter reconciliation scanned ids up to {}, corrected {} rows in {}ms",
+                maxId, corrected, System.currentTimeMillis() - start);
+        return new Report(maxId, corrected);
+    }
+}
@@ -0,0 +1,125 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.dto.BulkFollowResult;
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.FollowCounts;
+import com.joshtechnologygroup.minisocial.dto.UserSummary;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import com.joshtechnologygroup.minisocial.exception.InvalidRequestException;
+import com.joshtechnologygroup.minisocial.exception.UserNotFoundException;
+import com.joshtechnologygroup.minisocial.repository.FollowJdbcRepository;
+import com.joshtechnologygroup.minisocial.repository.FollowRepository;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class FollowService {
+    private final FollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final FollowJdbcRepository followJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FollowService(FollowRepository followRepository, UserRepository userRepository, FollowJdbcRepository followJdbcRepository, ApplicationEventPublisher eventPublisher) {
+        this.followRepository = followRepository;
+        this.userRepository = userRepository;
+        this.followJdbcRepository = followJdbcRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getFollowers(long userId, long after, int limit) {
+        // Fetch one extra row to know if there is a next page
+        return CursorPage.of(followRepository.findFollowers(userId, after, limit + 1), limit, UserSummary::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getFollowing(long userId, long after, int limit) {
+        return CursorPage.of(followRepository.findFollowing(userId, after, limit + 1), limit, UserSummary::getId);
+    }
+
+    // Reads the denormalized counters on the users row
+    @Transactional(readOnly = true)
+    public FollowCounts getCounts(long userId) {
+        return userRepository.findFollowCounts(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    // Edge and counters change in the same transaction, counters only move if the edge did
+    @Transactional
+    public boolean follow(long followerId, long targetId) {
+        if (followerId == targetId) throw new InvalidRequestException("Users can not follow themselves");
+
+        // INSERT IGNORE also swallows the foreign key failure of an unknown target, so the (rare)
+        // unchanged case tells an existing edge from a missing user with one more lookup
+        boolean created = followRepository.insertEdge(targetId, followerId) == 1;
+        if (!created && followJdbcRepository.findExistingUserIds(List.of(targetId)).isEmpty()) {
+            throw new UserNotFoundException(targetId);
+        }
+        if (created) {
+            userRepository.adjustFollowCounts(targetId, followerId, 1);
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, List.of(targetId), true));
+            log.debug("User {} followed user {}", followerId, targetId);
+        }
+        return created;
+    }
+
+    @Transactional
+    public boolean unfollow(long followerId, long targetId) {
+        boolean removed = followRepository.deleteEdge(targetId, followerId) == 1;
+        if (removed) {
+            userRepository.adjustFollowCounts(targetId, followerId, -1);
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, List.of(targetId), false));
+            log.debug("User {} unfollowed user {}", followerId, targetId);
+        }
+        return removed;
+    }
+
+    // Constant number of round trips for any number of targets: existing users, existing edges (locked),
+    // one batched insert and two counter updates
+    @Transactional
+    public BulkFollowResult followAll(long followerId, List<Long> targetIds) {
+        Set<Long> targets = new LinkedHashSet<>(targetIds);
+        targets.remove(followerId);
+        if (targets.isEmpty()) return new BulkFollowResult(targetIds.size(), List.of());
+
+        Set<Long> candidates = new LinkedHashSet<>(targets);
+        candidates.retainAll(new HashSet<>(followJdbcRepository.findExistingUserIds(targets)));
+        if (!candidates.isEmpty()) {
+            followJdbcRepository.lockFollowedAmong(followerId, candidates).forEach(candidates::remove);
+        }
+        List<Long> created = List.copyOf(candidates);
+
+        if (!created.isEmpty()) {
+            followJdbcRepository.insertEdges(followerId, created);
+            followJdbcRepository.adjustFollowerCounts(created, 1);
+            followJdbcRepository.adjustFollowingCount(followerId, created.size());
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, created, true));
+        }
+        log.debug("User {} followed {} of {} requested users", followerId, created.size(), targetIds.size());
+        return new BulkFollowResult(targetIds.size(), created);
+    }
+
+    @Transactional
+    public BulkFollowResult unfollowAll(long followerId, List<Long> targetIds) {
+        Set<Long> targets = new LinkedHashSet<>(targetIds);
+        List<Long> removed = followJdbcRepository.lockFollowedAmong(followerId, targets);
+
+        if (!removed.isEmpty()) {
+            followJdbcRepository.deleteEdges(followerId, removed);
+            followJdbcRepository.adjustFollowerCounts(removed, -1);
+            followJdbcRepository.adjustFollowingCount(followerId, -removed.size());
+            eventPublisher.publishEvent(new FollowChangedEvent(followerId, removed, false));
+        }
+        log.debug("User {} unfollowed {} of {} requested users", followerId, removed.size(), targetIds.size());
+        return new BulkFollowResult(targetIds.size(), removed);
+    }
+}
@@ -0,0 +1,58 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.dto.UserProfile;
+import com.joshtechnologygroup.minisocial.exception.UserNotFoundException;
+import com.joshtechnologygroup.minisocial.repository.UserProfileRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProfileService {
+    private final UserProfileRepository profileRepository;
+
+    public ProfileService(UserProfileRepository profileRepository) {
+        this.profileRepository = profileRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public UserProfile getProfile(long userId) {
+        return profileRepository.findProfile(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+    }
+
+    // The full profile for the viewer's own id, the public view for anyone else's
+    @Transactional(readOnly = true)
+    public UserProfile viewProfile(long viewerId, long userId) {
+        return visibleTo(viewerId, getProfile(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserProfile> viewProfiles(long viewerId, List<Long> userIds) {
+        return getProfiles(userIds).stream()
+                .map(profile -> visibleTo(viewerId, profile))
+                .toList();
+    }
+
+    private static UserProfile visibleTo(long viewerId, UserProfile profile) {
+        return profile.id() == viewerId ? profile : profile.publicView();
+    }
+
+    // Results are in request order with duplicates and unknown ids removed
+    @Transactional(readOnly = true)
+    public List<UserProfile> getProfiles(List<Long> userIds) {
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(userIds);
+        Map<Long, UserProfile> byId = profileRepository.findProfiles(ids).stream()
+                .collect(Collectors.toMap(UserProfile::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
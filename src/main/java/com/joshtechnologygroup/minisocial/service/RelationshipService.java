@@ -0,0 +1,34 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.dto.Relationship;
+import com.joshtechnologygroup.minisocial.graph.FollowGraphService;
+import com.joshtechnologygroup.minisocial.repository.FollowJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// Answers "do I follow them / do they follow me" for a whole list of users at once.
+// Served from the in-memory follower graph once it is loaded, otherwise from a single query.
+@Service
+public class RelationshipService {
+    private final FollowGraphService followGraphService;
+    private final FollowJdbcRepository followJdbcRepository;
+    private final ApiConfig apiConfig;
+
+    public RelationshipService(FollowGraphService followGraphService, FollowJdbcRepository followJdbcRepository, ApiConfig apiConfig) {
+        this.followGraphService = followGraphService;
+        this.followJdbcRepository = followJdbcRepository;
+        this.apiConfig = apiConfig;
+    }
+
+    // Results are in request order with duplicates removed
+    public List<Relationship> getRelationships(long viewerId, List<Long> userIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        if (apiConfig.isRelationshipGraphEnabled() && followGraphService.isLoaded()) {
+            return followGraphService.relationships(viewerId, ids);
+        }
+        return followJdbcRepository.findRelationships(viewerId, ids);
+    }
+}
@@ -0,0 +1,47 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Keeps, per user, the instant before which every issued token is considered revoked.
+// Entries only need to live as long as a token can, so they expire after api.service.jwt-expiry.
+@Service
+@Slf4j
+public class TokenRevocationService {
+    private final Cache<String, Instant> revokedBefore;
+
+    public TokenRevocationService(ApiConfig apiConfig) {
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(apiConfig.getJwtExpiry()))
+                .build();
+    }
+
+    public void revokeTokensIssuedBefore(String email, Instant instant) {
+        // "iat" only has second precision, so round up: every token of the change's second is revoked, including
+        // ones issued before the change. A login in that same second gets a token that is rejected once.
+        revokedBefore.asMap().merge(email, instant.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1),
+                (oldValue, newValue) -> newValue.isAfter(oldValue) ? newValue : oldValue);
+        log.debug("Revoked tokens issued before {} for user {}", instant, email);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Instant cutoff = revokedBefore.getIfPresent(claims.getSubject());
+        if (cutoff == null) return false;
+        return claims.getIssuedAt() == null || claims.getIssuedAt().toInstant().isBefore(cutoff);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPasswordChanged(PasswordChangedEvent event) {
+        revokeTokensIssuedBefore(event.email(), event.changedAt());
+    }
+}
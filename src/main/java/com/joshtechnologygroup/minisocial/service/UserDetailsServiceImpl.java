@@ -1,28 +1,103 @@
 package com.joshtechnologygroup.minisocial.service;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.cache.UserCacheInvalidationChannel;
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
 import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final UserCacheInvalidationChannel invalidationChannel;
+    private final Set<String> adminEmails;
+
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    // A LoadingCache runs a single load per key, concurrent misses wait for it
+    private final LoadingCache<String, UserDetails> cache;
+
+    public UserDetailsServiceImpl(UserRepository userRepository, UserCacheInvalidationChannel invalidationChannel, ApiConfig apiConfig, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.invalidationChannel = invalidationChannel;
+        this.adminEmails = apiConfig.getAdminEmails().stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(apiConfig.getUserCacheMaxSize())
+                .expireAfterWrite(apiConfig.getUserCacheTtl())
+                .recordStats()
+                .build(this::loadFromDb);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user.details");
+        invalidationChannel.subscribe(cache::invalidate);
     }
 
     @Override
     public @NonNull UserDetails loadUserByUsername(@NonNull String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        // Hand out a copy, the authentication manager erases credentials on the instance it receives
+        return org.springframework.security.core.userdetails.User.withUserDetails(cache.get(email))
+                .build();
+    }
+
+    // Also used by JwtFilter in stateless mode, where no UserDetails are loaded
+    public List<GrantedAuthority> authorities(String email) {
+        return adminEmails.contains(email.toLowerCase(Locale.ROOT)) ? ADMIN : List.of();
+    }
+
+    // Called by the authentication manager after a successful login when the stored hash
+    // uses an outdated encoding or cost factor, newPassword is already encoded
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findFreshByEmail(user.getUsername()).ifPresent(dbUser -> {
+            dbUser.setPassword(newPassword);
+            userRepository.save(dbUser);
+            log.info("Upgraded password encoding for user {}", user.getUsername());
+        });
+        evict(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    // Must be called after every mutation of a user row
+    public void evict(String email) {
+        log.debug("Evicting cached user details for {}", email);
+        invalidationChannel.publish(email);
+    }
+
+    // After commit, so a concurrent login can not re-cache the old hash before the new one is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPasswordChanged(PasswordChangedEvent event) {
+        evict(event.email());
+    }
+
+    private UserDetails loadFromDb(String email) {
+        User user = userRepository.findFreshByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
+                .authorities(authorities(user.getEmail()))
                 .build();
     }
 }
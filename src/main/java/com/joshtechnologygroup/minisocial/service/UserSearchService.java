@@ -0,0 +1,26 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.UserSearchCriteria;
+import com.joshtechnologygroup.minisocial.dto.UserSearchResult;
+import com.joshtechnologygroup.minisocial.exception.InvalidRequestException;
+import com.joshtechnologygroup.minisocial.repository.UserSearchJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserSearchService {
+    private final UserSearchJdbcRepository searchRepository;
+
+    public UserSearchService(UserSearchJdbcRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserSearchResult> search(UserSearchCriteria criteria, long after, int limit) {
+        if (criteria.minAge() != null && criteria.maxAge() != null && criteria.minAge() > criteria.maxAge()) {
+            throw new InvalidRequestException("minAge must not be greater than maxAge");
+        }
+        return CursorPage.of(searchRepository.search(criteria, after, limit + 1), limit, UserSearchResult::id);
+    }
+}
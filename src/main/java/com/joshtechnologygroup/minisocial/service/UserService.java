@@ -2,15 +2,19 @@ package com.joshtechnologygroup.minisocial.service;
 
 import com.joshtechnologygroup.minisocial.bean.User;
 import com.joshtechnologygroup.minisocial.dto.UpdatePasswordRequest;
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
 import com.joshtechnologygroup.minisocial.exception.InvalidUserCredentialsException;
 import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.util.ReadYourWrites;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
+import java.time.Instant;
 
 @Service
 @Slf4j
@@ -18,22 +22,33 @@ public class UserService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadYourWrites readYourWrites;
 
-    public UserService(UserRepository userRepository, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate, ReadYourWrites readYourWrites) {
         this.userRepository = userRepository;
         this.authenticationManager = authenticationManager;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.readYourWrites = readYourWrites;
     }
 
     public void updateUserPassword(UpdatePasswordRequest request) {
         authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.email(), request.oldPassword()));
 
-        Optional<User> user = userRepository.findByEmail(request.email());
-        if (user.isEmpty()) throw new InvalidUserCredentialsException();
-
-        user.get()
-                .setPassword(passwordEncoder.encode(request.newPassword()));
-        userRepository.save(user.get());
+        // Hash outside the transaction. The locked read, the update of the managed row (no merge of a detached
+        // copy) and the outbox entry share one, so concurrent changes of the same user run one after the other.
+        String newHash = passwordEncoder.encode(request.newPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findFreshByEmailForUpdate(request.email())
+                    .orElseThrow(InvalidUserCredentialsException::new);
+            user.setPassword(newHash);
+            eventPublisher.publishEvent(new PasswordChangedEvent(user.getId(), request.email(), Instant.now()));
+        });
+        // The request may not be authenticated as this user, so the window is started explicitly
+        readYourWrites.markWrite(request.email());
         log.info("Successfully Updated password for user {}", request.email());
     }
 }
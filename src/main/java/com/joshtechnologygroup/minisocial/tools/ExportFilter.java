@@ -0,0 +1,12 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+// Optional export filters, each one maps onto an existing index
+// (idx_user_details_age, idx_residential_city, idx_company_name)
+public record ExportFilter(
+        Integer minAge,
+        Integer maxAge,
+        String city,
+        String companyName
+) {
+    public static final ExportFilter NONE = new ExportFilter(null, null, null, null);
+}
@@ -0,0 +1,31 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Number of input records already committed, persisted with an atomic rename after every chunk
+public class ImportCheckpoint {
+    private final Path path;
+
+    public ImportCheckpoint(Path path) {
+        this.path = path;
+    }
+
+    public long read() throws IOException {
+        if (!Files.exists(path)) return 0;
+        return Long.parseLong(Files.readString(path, StandardCharsets.UTF_8).trim());
+    }
+
+    public void write(long committedRecords) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(tmp, Long.toString(committedRecords), StandardCharsets.UTF_8);
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,11 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+public enum RecordFormat {
+    NDJSON, CSV;
+
+    // Picks the format from the file name, a trailing .gz is ignored
+    public static RecordFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase().replaceFirst("\\.gz$", "");
+        return name.endsWith(".csv") ? CSV : NDJSON;
+    }
+}
@@ -0,0 +1,19 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import org.springframework.boot.ApplicationArguments;
+
+import java.util.List;
+
+final class ToolArguments {
+    private ToolArguments() { }
+
+    static String option(ApplicationArguments args, String name, String defaultValue) {
+        List<String> values = args.getOptionValues(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    static Integer intOption(ApplicationArguments args, String name) {
+        String value = option(args, name, null);
+        return value == null ? null : Integer.valueOf(value);
+    }
+}
@@ -0,0 +1,53 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.joshtechnologygroup.minisocial.tools.ToolArguments.intOption;
+import static com.joshtechnologygroup.minisocial.tools.ToolArguments.option;
+
+// ./gradlew bootRun --args='--minisocial.tool=export --spring.main.web-application-type=none --output=users.ndjson.gz'
+// Optional: --format=csv|ndjson --min-age=25 --max-age=30 --city=Pune --company=X --include-password-hash
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "minisocial.tool", havingValue = "export")
+public class UserExportCommand implements ApplicationRunner {
+    private final UserExporter userExporter;
+    private final ConfigurableApplicationContext context;
+
+    public UserExportCommand(UserExporter userExporter, ConfigurableApplicationContext context) {
+        this.userExporter = userExporter;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String output = option(args, "output", null);
+        if (output == null) throw new IllegalArgumentException("--output=<file> is required");
+
+        RecordFormat format = args.containsOption("format")
+                ? RecordFormat.valueOf(option(args, "format", null).toUpperCase())
+                : RecordFormat.fromFileName(output);
+        ExportFilter filter = new ExportFilter(
+                intOption(args, "min-age"),
+                intOption(args, "max-age"),
+                option(args, "city", null),
+                option(args, "company", null)
+        );
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(output)), 1 << 16)) {
+            userExporter.export(out, format, output.endsWith(".gz"), filter, args.containsOption("include-password-hash"));
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
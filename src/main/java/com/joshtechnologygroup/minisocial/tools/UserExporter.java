@@ -0,0 +1,43 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.repository.UserExportJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// Shared by the export CLI and the HTTP download
+@Component
+@Slf4j
+public class UserExporter {
+    private final UserExportJdbcRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public UserExporter(UserExportJdbcRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns the number of exported users. Does not close the output stream.
+    public long export(OutputStream out, RecordFormat format, boolean gzip, ExportFilter filter, boolean includePasswordHash) throws IOException {
+        long start = System.currentTimeMillis();
+        UserRecordWriter writer = new UserRecordWriter(out, format, gzip, objectMapper);
+        try {
+            exportRepository.stream(filter, includePasswordHash, record -> {
+                try {
+                    writer.write(record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} users as {} in {}ms", writer.getWritten(), format, System.currentTimeMillis() - start);
+        return writer.getWritten();
+    }
+}
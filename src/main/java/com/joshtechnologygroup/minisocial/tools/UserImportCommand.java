@@ -0,0 +1,48 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+import static com.joshtechnologygroup.minisocial.tools.ToolArguments.option;
+
+// ./gradlew bootRun --args='--minisocial.tool=import --spring.main.web-application-type=none --input=users.ndjson.gz'
+// Optional: --format=csv|ndjson --checkpoint=<file> --batch-size=1000 --hash-threads=<cores> --welcome-mail
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "minisocial.tool", havingValue = "import")
+public class UserImportCommand implements ApplicationRunner {
+    private final UserImporter userImporter;
+    private final ConfigurableApplicationContext context;
+
+    public UserImportCommand(UserImporter userImporter, ConfigurableApplicationContext context) {
+        this.userImporter = userImporter;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String input = option(args, "input", null);
+        if (input == null) throw new IllegalArgumentException("--input=<file> is required");
+
+        Path inputPath = Path.of(input);
+        RecordFormat format = args.containsOption("format")
+                ? RecordFormat.valueOf(option(args, "format", null).toUpperCase())
+                : RecordFormat.fromFileName(input);
+        Path checkpoint = Path.of(option(args, "checkpoint", input + ".checkpoint"));
+        int batchSize = Integer.parseInt(option(args, "batch-size", "1000"));
+        int hashThreads = Integer.parseInt(option(args, "hash-threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        boolean welcomeMail = args.containsOption("welcome-mail");
+
+        UserImporter.Result result = userImporter.importFile(inputPath, format, checkpoint, batchSize, hashThreads, welcomeMail);
+        log.info("Import finished: {}", result);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,156 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.mail.MailQueue;
+import com.joshtechnologygroup.minisocial.repository.UserImportJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import com.joshtechnologygroup.minisocial.web.config.SecurityConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Streams users from a file into MySQL in chunks. Records whose email already exists are skipped, the
+// rest are hashed in parallel, written with multi-row inserts (users first, then the @MapsId detail
+// tables) in one transaction, then checkpointed.
+// Does not go through UserRepository.save: IDENTITY ids disable Hibernate insert batching.
+@Component
+@Slf4j
+public class UserImporter {
+    private final UserImportJdbcRepository importRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MailQueue mailQueue;
+    // Not the request path encoder: no bounded queue, the import owns its own hashing pool
+    private final PasswordEncoder passwordEncoder;
+
+    public UserImporter(UserImportJdbcRepository importRepository, TransactionTemplate transactionTemplate, ObjectMapper objectMapper, MailQueue mailQueue, ApiConfig apiConfig) {
+        this.importRepository = importRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.mailQueue = mailQueue;
+        this.passwordEncoder = SecurityConfig.delegatingPasswordEncoder(apiConfig.getBcryptStrength());
+    }
+
+    public record Result(long read, long imported, long rejected, long resumedFrom) { }
+
+    // welcomeMail queues a welcome mail for every newly created user, sent later by the server's MailDispatcher
+    public Result importFile(Path input, RecordFormat format, Path checkpointPath, int batchSize, int hashThreads, boolean welcomeMail) throws IOException {
+        if (batchSize < 1 || batchSize > UserImportJdbcRepository.MAX_ROWS_PER_STATEMENT) {
+            throw new IllegalArgumentException("--batch-size must be between 1 and " + UserImportJdbcRepository.MAX_ROWS_PER_STATEMENT);
+        }
+        ImportCheckpoint checkpoint = new ImportCheckpoint(checkpointPath);
+        long resumedFrom = checkpoint.read();
+        long read = resumedFrom;
+        long imported = 0;
+        long rejected = 0;
+        long start = System.currentTimeMillis();
+
+        ExecutorService hashers = Executors.newFixedThreadPool(hashThreads);
+        try (UserRecordReader reader = new UserRecordReader(input, format, objectMapper)) {
+            if (resumedFrom > 0) {
+                log.info("Resuming import of {} after {} records", input, resumedFrom);
+                reader.skip(resumedFrom);
+            }
+
+            while (true) {
+                List<UserRecord> chunk = new ArrayList<>(batchSize);
+                int consumed = 0;
+                while (consumed < batchSize) {
+                    UserRecord record;
+                    try {
+                        record = reader.next();
+                    } catch (IllegalArgumentException e) {
+                        consumed++;
+                        rejected++;
+                        log.warn("Skipping record: {}", e.getMessage());
+                        continue;
+                    }
+                    if (record == null) break;
+                    consumed++;
+                    chunk.add(record);
+                }
+                if (consumed == 0) break;
+
+                // Skipped before hashing, so resuming over already imported records is cheap
+                List<UserRecord> hashed = hash(withoutExistingEmails(chunk), hashers);
+                Long firstId = hashed.isEmpty() ? null : transactionTemplate.execute(status -> importRepository.allocateUserIds(hashed.size()));
+                Integer written = transactionTemplate.execute(status -> writeChunk(hashed, firstId, welcomeMail));
+                imported += written == null ? 0 : written;
+                read += consumed;
+                checkpoint.write(read);
+
+                long elapsed = Math.max(1, System.currentTimeMillis() - start);
+                log.info("Imported {} users, {} records read, {} rejected ({} records/s)",
+                        imported, read, rejected, (read - resumedFrom) * 1000 / elapsed);
+            }
+        } finally {
+            hashers.shutdownNow();
+        }
+
+        checkpoint.delete();
+        return new Result(read, imported, rejected, resumedFrom);
+    }
+
+    // Keeps the first record of every email that is not in the database yet. Emails compare case-insensitively,
+    // like the users.email unique key.
+    private List<UserRecord> withoutExistingEmails(List<UserRecord> chunk) {
+        Map<String, UserRecord> byEmail = new LinkedHashMap<>();
+        for (UserRecord record : chunk) byEmail.putIfAbsent(record.email().toLowerCase(Locale.ROOT), record);
+        if (byEmail.isEmpty()) return List.of();
+
+        importRepository.findIdsByEmail(chunk.stream().map(UserRecord::email).toList())
+                .keySet()
+                .forEach(email -> byEmail.remove(email.toLowerCase(Locale.ROOT)));
+        return List.copyOf(byEmail.values());
+    }
+
+    private List<UserRecord> hash(List<UserRecord> chunk, ExecutorService hashers) {
+        List<CompletableFuture<UserRecord>> futures = chunk.stream()
+                .map(record -> record.passwordHash() != null
+                        ? CompletableFuture.completedFuture(record)
+                        : CompletableFuture.supplyAsync(() -> record.withPasswordHash(passwordEncoder.encode(record.password())), hashers))
+                .toList();
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    // Returns the number of new users rows
+    private int writeChunk(List<UserRecord> chunk, Long firstId, boolean welcomeMail) {
+        if (chunk.isEmpty()) return 0;
+        List<String> emails = chunk.stream().map(UserRecord::email).toList();
+        int inserted = importRepository.insertUsers(chunk, firstId);
+
+        Map<String, Long> ids = importRepository.findIdsByEmail(emails);
+        Map<Long, UserRecord> userDetails = new LinkedHashMap<>();
+        Map<Long, UserRecord> residentialDetails = new LinkedHashMap<>();
+        Map<Long, UserRecord> officialDetails = new LinkedHashMap<>();
+        for (UserRecord record : chunk) {
+            Long id = ids.get(record.email());
+            if (id == null) continue;
+            if (record.hasUserDetail()) userDetails.put(id, record);
+            if (record.hasResidentialDetail()) residentialDetails.put(id, record);
+            if (record.hasOfficialDetail()) officialDetails.put(id, record);
+        }
+
+        importRepository.insertUserDetails(userDetails);
+        importRepository.insertResidentialDetails(residentialDetails);
+        importRepository.insertOfficialDetails(officialDetails);
+
+        if (welcomeMail) {
+            // Same transaction as the users rows, keyed by email so a re-run never mails twice
+            mailQueue.enqueue(emails.stream()
+                    .map(email -> new MailQueue.MailRequest("welcome:" + email, email, "welcome", Map.of("email", email)))
+                    .toList());
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,69 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+
+import java.util.List;
+
+// Flat import/export row covering users + user_details + residential_details + official_details.
+// On import either password (plain text, hashed by the tool) or passwordHash (stored as is) must be set.
+public record UserRecord(
+        Long id,
+        String email,
+        String password,
+        String passwordHash,
+        Boolean active,
+
+        String firstName,
+        String lastName,
+        Integer age,
+        Gender gender,
+        MaritalStatus maritalStatus,
+
+        String residentialAddress,
+        String residentialCity,
+        String residentialState,
+        String residentialCountry,
+        String contactNo1,
+        String contactNo2,
+
+        String employeeCode,
+        String officialAddress,
+        String officialCity,
+        String officialState,
+        String officialCountry,
+        String companyContactNo,
+        String companyContactEmail,
+        String companyName
+) {
+    // CSV column order, also used as the CSV header
+    public static final List<String> COLUMNS = List.of(
+            "id", "email", "password", "passwordHash", "active",
+            "firstName", "lastName", "age", "gender", "maritalStatus",
+            "residentialAddress", "residentialCity", "residentialState", "residentialCountry", "contactNo1", "contactNo2",
+            "employeeCode", "officialAddress", "officialCity", "officialState", "officialCountry",
+            "companyContactNo", "companyContactEmail", "companyName"
+    );
+
+    public boolean hasUserDetail() {
+        return firstName != null && age != null && gender != null;
+    }
+
+    public boolean hasResidentialDetail() {
+        return residentialAddress != null && residentialCity != null && residentialState != null
+                && residentialCountry != null && contactNo1 != null;
+    }
+
+    public boolean hasOfficialDetail() {
+        return employeeCode != null && officialAddress != null && officialCity != null && officialState != null
+                && officialCountry != null && companyContactNo != null && companyContactEmail != null && companyName != null;
+    }
+
+    public UserRecord withPasswordHash(String hash) {
+        return new UserRecord(id, email, null, hash, active,
+                firstName, lastName, age, gender, maritalStatus,
+                residentialAddress, residentialCity, residentialState, residentialCountry, contactNo1, contactNo2,
+                employeeCode, officialAddress, officialCity, officialState, officialCountry,
+                companyContactNo, companyContactEmail, companyName);
+    }
+}
@@ -0,0 +1,206 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.util.CsvUtil;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+// Streams UserRecords out of an NDJSON or CSV file (optionally gzipped), one record at a time
+public class UserRecordReader implements Closeable {
+    // Column sizes of V1__Initial_Schema.sql
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_PASSWORD_HASH_LENGTH = 512;
+    private static final int MAX_AGE = 150;
+
+    private final BufferedReader reader;
+    private final RecordFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber;
+
+    public UserRecordReader(Path path, RecordFormat format, ObjectMapper objectMapper) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+        if (path.getFileName().toString().endsWith(".gz")) in = new GZIPInputStream(in, 1 << 16);
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == RecordFormat.CSV) readCsvHeader();
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    // Returns null at end of input, throws IllegalArgumentException for a malformed or invalid line
+    public UserRecord next() throws IOException {
+        String line = nextNonBlank();
+        if (line == null) return null;
+        return validate(format == RecordFormat.CSV ? fromCsv(line) : fromJson(line));
+    }
+
+    // Skips records without parsing them, used to resume from a checkpoint
+    public void skip(long records) throws IOException {
+        for (long i = 0; i < records; i++) {
+            if (nextNonBlank() == null) return;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextNonBlank() throws IOException {
+        String line;
+        do {
+            line = format == RecordFormat.CSV ? readCsvRecord() : readLine();
+            if (line == null) return null;
+        } while (line.isBlank());
+        return line;
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) lineNumber++;
+        return line;
+    }
+
+    // A quoted CSV field may hold line breaks (CsvUtil.escape quotes them), so lines are joined while a quote
+    // is open: "" escapes come in pairs, an odd number of quote characters leaves one open. Breaks inside a
+    // field are read back as \n whatever the file used.
+    private String readCsvRecord() throws IOException {
+        String line = readLine();
+        if (line == null) return null;
+        long quotes = quotes(line);
+        if (quotes % 2 == 0) return line;
+
+        StringBuilder record = new StringBuilder(line);
+        while (quotes % 2 != 0) {
+            line = readLine();
+            if (line == null) throw new IllegalArgumentException("Malformed CSV on line " + lineNumber + ": unterminated quoted field");
+            record.append('\n').append(line);
+            quotes += quotes(line);
+        }
+        return record.toString();
+    }
+
+    private static long quotes(String line) {
+        return line.chars().filter(c -> c == '"').count();
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = readCsvRecord();
+        if (header == null) throw new IOException("CSV input is empty");
+        List<String> names = CsvUtil.parseLine(header);
+        csvColumns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) csvColumns.put(names.get(i).trim(), i);
+    }
+
+    private UserRecord fromJson(String line) {
+        try {
+            return objectMapper.readValue(line, UserRecord.class);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed JSON on line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private UserRecord fromCsv(String line) {
+        List<String> fields = CsvUtil.parseLine(line);
+        try {
+            String age = field(fields, "age");
+            String active = field(fields, "active");
+            String gender = field(fields, "gender");
+            String maritalStatus = field(fields, "maritalStatus");
+            String id = field(fields, "id");
+            return new UserRecord(
+                    id == null ? null : Long.valueOf(id),
+                    field(fields, "email"),
+                    field(fields, "password"),
+                    field(fields, "passwordHash"),
+                    active == null ? null : Boolean.valueOf(active),
+                    field(fields, "firstName"),
+                    field(fields, "lastName"),
+                    age == null ? null : Integer.valueOf(age),
+                    gender == null ? null : Gender.valueOf(gender.toUpperCase()),
+                    maritalStatus == null ? null : MaritalStatus.valueOf(maritalStatus.toUpperCase()),
+                    field(fields, "residentialAddress"),
+                    field(fields, "residentialCity"),
+                    field(fields, "residentialState"),
+                    field(fields, "residentialCountry"),
+                    field(fields, "contactNo1"),
+                    field(fields, "contactNo2"),
+                    field(fields, "employeeCode"),
+                    field(fields, "officialAddress"),
+                    field(fields, "officialCity"),
+                    field(fields, "officialState"),
+                    field(fields, "officialCountry"),
+                    field(fields, "companyContactNo"),
+                    field(fields, "companyContactEmail"),
+                    field(fields, "companyName")
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed CSV on line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Rejects anything the database would truncate, coerce or refuse
+    private UserRecord validate(UserRecord record) {
+        if (record.email() == null || record.email().isBlank() || !record.email().contains("@")) {
+            throw invalid("missing or malformed email");
+        }
+        if (record.password() == null && record.passwordHash() == null) {
+            throw invalid("password or passwordHash is required");
+        }
+        if (record.passwordHash() != null && record.passwordHash().length() > MAX_PASSWORD_HASH_LENGTH) {
+            throw invalid("passwordHash is longer than " + MAX_PASSWORD_HASH_LENGTH + " characters");
+        }
+        if (record.age() != null && (record.age() < 0 || record.age() > MAX_AGE)) {
+            throw invalid("age must be between 0 and " + MAX_AGE);
+        }
+        checkLength("email", record.email());
+        checkLength("password", record.password());
+        checkLength("firstName", record.firstName());
+        checkLength("lastName", record.lastName());
+        checkLength("residentialAddress", record.residentialAddress());
+        checkLength("residentialCity", record.residentialCity());
+        checkLength("residentialState", record.residentialState());
+        checkLength("residentialCountry", record.residentialCountry());
+        checkLength("contactNo1", record.contactNo1());
+        checkLength("contactNo2", record.contactNo2());
+        checkLength("employeeCode", record.employeeCode());
+        checkLength("officialAddress", record.officialAddress());
+        checkLength("officialCity", record.officialCity());
+        checkLength("officialState", record.officialState());
+        checkLength("officialCountry", record.officialCountry());
+        checkLength("companyContactNo", record.companyContactNo());
+        checkLength("companyContactEmail", record.companyContactEmail());
+        checkLength("companyName", record.companyName());
+        return record;
+    }
+
+    private void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw invalid(field + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private IllegalArgumentException invalid(String reason) {
+        return new IllegalArgumentException("Invalid record on line " + lineNumber + ": " + reason);
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+}
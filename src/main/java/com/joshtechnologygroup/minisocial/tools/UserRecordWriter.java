@@ -0,0 +1,66 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.util.CsvUtil;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.zip.GZIPOutputStream;
+
+// Writes UserRecords as NDJSON or CSV (optionally gzipped), one record at a time
+public class UserRecordWriter implements Closeable {
+    private final Writer writer;
+    private final RecordFormat format;
+    private final ObjectMapper objectMapper;
+    private final GZIPOutputStream gzip;
+    private long written;
+
+    public UserRecordWriter(OutputStream out, RecordFormat format, boolean gzip, ObjectMapper objectMapper) throws IOException {
+        this.gzip = gzip ? new GZIPOutputStream(out, 1 << 16) : null;
+        this.writer = new BufferedWriter(new OutputStreamWriter(gzip ? this.gzip : out, StandardCharsets.UTF_8), 1 << 16);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == RecordFormat.CSV) {
+            writer.write(String.join(",", UserRecord.COLUMNS));
+            writer.write('\n');
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void write(UserRecord record) throws IOException {
+        writer.write(format == RecordFormat.CSV ? toCsv(record) : objectMapper.writeValueAsString(record));
+        writer.write('\n');
+        written++;
+    }
+
+    // Finishes the gzip trailer but leaves the underlying stream to its owner
+    public void finish() throws IOException {
+        writer.flush();
+        if (gzip != null) gzip.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        writer.close();
+    }
+
+    private static String toCsv(UserRecord r) {
+        StringJoiner row = new StringJoiner(",");
+        for (Object value : new Object[]{
+                r.id(), r.email(), r.password(), r.passwordHash(), r.active(),
+                r.firstName(), r.lastName(), r.age(), r.gender(), r.maritalStatus(),
+                r.residentialAddress(), r.residentialCity(), r.residentialState(), r.residentialCountry(), r.contactNo1(), r.contactNo2(),
+                r.employeeCode(), r.officialAddress(), r.officialCity(), r.officialState(), r.officialCountry(),
+                r.companyContactNo(), r.companyContactEmail(), r.companyName()
+        }) {
+            row.add(CsvUtil.escape(value == null ? null : Objects.toString(value)));
+        }
+        return row.toString();
+    }
+}
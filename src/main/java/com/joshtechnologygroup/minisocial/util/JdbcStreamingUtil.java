@@ -0,0 +1,19 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public final class JdbcStreamingUtil {
+    private JdbcStreamingUtil() { }
+
+    // Forward only statement that streams rows instead of buffering the whole result.
+    // Connector/J only streams with fetchSize Integer.MIN_VALUE, other drivers get a regular fetch size.
+    public static PreparedStatement prepareStreaming(Connection connection, String sql) throws SQLException {
+        PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        ps.setFetchSize(mysql ? Integer.MIN_VALUE : 1_000);
+        return ps;
+    }
+}
@@ -2,6 +2,7 @@ package com.joshtechnologygroup.minisocial.util;
 
 import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import io.jsonwebtoken.Jwts;
@@ -17,13 +18,17 @@ import java.util.Map;
 public class JwtUtil {
     private final ApiConfig apiConfig;
 
+    // Key derivation and parser construction are done once, both are thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
     @Autowired
     public JwtUtil(ApiConfig apiConfig) {
         this.apiConfig = apiConfig;
-    }
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(apiConfig.getJwtKey().getBytes(StandardCharsets.UTF_8));
+        this.signingKey = Keys.hmacShaKeyFor(apiConfig.getJwtKey().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -34,7 +39,7 @@ public class JwtUtil {
                 .and()
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + apiConfig.getJwtExpiry()))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -44,11 +49,9 @@ public class JwtUtil {
         return createToken(claims, email);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+    // Verifies the signature and expiry, throws JwtException on failure
+    public Claims extractAllClaims(String token) {
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 
@@ -0,0 +1,33 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// One timer per outcome of a hot path, registered up front so recording is a plain map lookup
+public class OutcomeTimers {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    public OutcomeTimers(MeterRegistry meterRegistry, String name, String description, String... outcomes) {
+        this.meterRegistry = meterRegistry;
+        for (String outcome : outcomes) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String outcome) {
+        Timer timer = timers.get(outcome);
+        if (timer == null) throw new IllegalArgumentException("Unknown outcome " + outcome);
+        sample.stop(timer);
+    }
+}
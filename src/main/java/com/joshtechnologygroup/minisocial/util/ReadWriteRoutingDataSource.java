@@ -0,0 +1,85 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Connections of @Transactional(readOnly = true) work come from the replica pool, everything else from the primary.
+// The physical connection is only fetched on the first statement, when the transaction manager has already
+// marked it read-only, which is what lets LazyConnectionDataSourceProxy pick the pool.
+// Users in their read-your-writes window (see ReadYourWrites) read from the primary as well.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        super(new WriteTrackingDataSource(primary, readYourWrites, route(meterRegistry, "primary")));
+        setReadOnlyDataSource(new StickyReadDataSource(primary, replica, readYourWrites,
+                route(meterRegistry, "replica"), route(meterRegistry, "primary_sticky")));
+    }
+
+    private static Counter route(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Physical connections fetched by the routing data source, by target pool")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    // Starts the read-your-writes window of the current user once a read-write transaction commits
+    private static class WriteTrackingDataSource extends DelegatingDataSource {
+        private final ReadYourWrites readYourWrites;
+        private final Counter routed;
+
+        WriteTrackingDataSource(DataSource primary, ReadYourWrites readYourWrites, Counter routed) {
+            super(primary);
+            this.readYourWrites = readYourWrites;
+            this.routed = routed;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            routed.increment();
+            String user = ReadYourWrites.currentUser();
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.markWrite(user);
+                    }
+                });
+            }
+            return super.getConnection();
+        }
+    }
+
+    private static class StickyReadDataSource extends DelegatingDataSource {
+        private final DataSource primary;
+        private final ReadYourWrites readYourWrites;
+        private final Counter replicaRouted;
+        private final Counter stickyRouted;
+
+        StickyReadDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites, Counter replicaRouted, Counter stickyRouted) {
+            super(replica);
+            this.primary = primary;
+            this.readYourWrites = readYourWrites;
+            this.replicaRouted = replicaRouted;
+            this.stickyRouted = stickyRouted;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (readYourWrites.isSticky(ReadYourWrites.currentUser())) {
+                stickyRouted.increment();
+                return primary.getConnection();
+            }
+            replicaRouted.increment();
+            return super.getConnection();
+        }
+    }
+}
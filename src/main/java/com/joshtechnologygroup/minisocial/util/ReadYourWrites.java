@@ -0,0 +1,39 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+// Users who wrote recently, keyed by email. Their read-only transactions stay on the primary until
+// api.service.replica-stickiness has passed, so they never read a replica that has not caught up yet.
+// Local to this instance, like the other in-memory caches.
+@Component
+public class ReadYourWrites {
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(ApiConfig apiConfig) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(apiConfig.getReplicaStickinessMaxUsers())
+                .expireAfterWrite(apiConfig.getReplicaStickiness())
+                .build();
+    }
+
+    public void markWrite(String email) {
+        if (email != null) recentWriters.put(email, Boolean.TRUE);
+    }
+
+    public boolean isSticky(String email) {
+        return email != null && recentWriters.getIfPresent(email) != null;
+    }
+
+    // The user the current request acts for, null for anonymous requests and background work
+    public static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) return user.email();
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.joshtechnologygroup.minisocial.web;
 
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
 import com.joshtechnologygroup.minisocial.dto.UpdatePasswordRequest;
 import com.joshtechnologygroup.minisocial.dto.UserLogin;
 import com.joshtechnologygroup.minisocial.service.AuthService;
@@ -7,6 +8,8 @@ import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,4 +36,9 @@ class AuthController {
         authService.updatePassword(updatePasswordRequest);
         return new ResponseEntity<>("Password changed successfully", HttpStatus.OK);
     }
+
+    @GetMapping("/me")
+    public ResponseEntity<AuthenticatedUser> me(@AuthenticationPrincipal AuthenticatedUser user) {
+        return new ResponseEntity<>(user, HttpStatus.OK);
+    }
 }
@@ -0,0 +1,50 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.tools.ExportFilter;
+import com.joshtechnologygroup.minisocial.tools.RecordFormat;
+import com.joshtechnologygroup.minisocial.tools.UserExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Chunked download of all users, disabled unless api.service.export-api-enabled=true.
+// Password hashes are never part of the HTTP export.
+@RestController
+@RequestMapping("/api/export")
+@Slf4j
+@ConditionalOnProperty(prefix = "api.service", name = "export-api-enabled", havingValue = "true")
+class ExportController {
+    private final UserExporter userExporter;
+
+    ExportController(UserExporter userExporter) {
+        this.userExporter = userExporter;
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") RecordFormat format,
+            @RequestParam(defaultValue = "true") boolean gzip,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String company
+    ) {
+        ExportFilter filter = new ExportFilter(minAge, maxAge, city, company);
+        String fileName = "users." + format.name().toLowerCase() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> userExporter.export(out, format, gzip, filter, false);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip
+                        ? MediaType.APPLICATION_OCTET_STREAM
+                        : format == RecordFormat.CSV ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+}
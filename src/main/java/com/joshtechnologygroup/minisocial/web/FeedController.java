@@ -0,0 +1,42 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.dto.CreatePostRequest;
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.PostView;
+import com.joshtechnologygroup.minisocial.service.FeedService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/feed")
+@Validated
+class FeedController {
+    private final FeedService feedService;
+
+    FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @PostMapping("/posts")
+    public ResponseEntity<PostView> createPost(@AuthenticationPrincipal AuthenticatedUser user, @Valid @RequestBody CreatePostRequest request) {
+        return new ResponseEntity<>(feedService.createPost(user.id(), request.content()), HttpStatus.CREATED);
+    }
+
+    // Newest first, pass the previous page's nextCursor as "before" to get older posts
+    @GetMapping
+    public ResponseEntity<CursorPage<PostView>> feed(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) @Min(1) Long before,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        long cursor = before == null ? Long.MAX_VALUE : before;
+        return new ResponseEntity<>(feedService.getFeed(user.id(), cursor, limit), HttpStatus.OK);
+    }
+}
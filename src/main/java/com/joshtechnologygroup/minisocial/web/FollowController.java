@@ -0,0 +1,98 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.dto.BulkFollowRequest;
+import com.joshtechnologygroup.minisocial.dto.BulkFollowResult;
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.FollowCounts;
+import com.joshtechnologygroup.minisocial.dto.FollowResult;
+import com.joshtechnologygroup.minisocial.dto.Relationship;
+import com.joshtechnologygroup.minisocial.dto.UserSummary;
+import com.joshtechnologygroup.minisocial.service.FollowService;
+import com.joshtechnologygroup.minisocial.service.RelationshipService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+@Validated
+@Slf4j
+class FollowController {
+    private final FollowService followService;
+    private final RelationshipService relationshipService;
+
+    FollowController(FollowService followService, RelationshipService relationshipService) {
+        this.followService = followService;
+        this.relationshipService = relationshipService;
+    }
+
+    // Pass the previous page's nextCursor as "after" to get the next page
+    @GetMapping("/{userId}/followers")
+    public ResponseEntity<CursorPage<UserSummary>> followers(
+            @PathVariable long userId,
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return new ResponseEntity<>(followService.getFollowers(userId, after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<CursorPage<UserSummary>> following(
+            @PathVariable long userId,
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return new ResponseEntity<>(followService.getFollowing(userId, after, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{userId}/follow-counts")
+    public ResponseEntity<FollowCounts> followCounts(@PathVariable long userId) {
+        return new ResponseEntity<>(followService.getCounts(userId), HttpStatus.OK);
+    }
+
+    // Follow/unfollow act on behalf of the authenticated user and are idempotent
+    @PostMapping("/{userId}/follow")
+    public ResponseEntity<FollowResult> follow(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable long userId) {
+        boolean changed = followService.follow(user.id(), userId);
+        return new ResponseEntity<>(new FollowResult(userId, changed), HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<FollowResult> unfollow(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable long userId) {
+        boolean changed = followService.unfollow(user.id(), userId);
+        return new ResponseEntity<>(new FollowResult(userId, changed), HttpStatus.OK);
+    }
+
+    @PostMapping("/follow/bulk")
+    public ResponseEntity<BulkFollowResult> followAll(@AuthenticationPrincipal AuthenticatedUser user, @Valid @RequestBody BulkFollowRequest request) {
+        return new ResponseEntity<>(followService.followAll(user.id(), request.userIds()), HttpStatus.OK);
+    }
+
+    @PostMapping("/unfollow/bulk")
+    public ResponseEntity<BulkFollowResult> unfollowAll(@AuthenticationPrincipal AuthenticatedUser user, @Valid @RequestBody BulkFollowRequest request) {
+        return new ResponseEntity<>(followService.unfollowAll(user.id(), request.userIds()), HttpStatus.OK);
+    }
+
+    // Relationship of the authenticated user with each listed user, e.g. /api/user/relationships?ids=4,8,15
+    @GetMapping("/relationships")
+    public ResponseEntity<List<Relationship>> relationships(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam
+            @NotEmpty(message = "At least one user id is required")
+            @Size(max = 100, message = "At most 100 user ids can be checked in one request")
+            List<Long> ids
+    ) {
+        return new ResponseEntity<>(relationshipService.getRelationships(user.id(), ids), HttpStatus.OK);
+    }
+}
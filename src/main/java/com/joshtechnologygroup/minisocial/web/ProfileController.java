@@ -0,0 +1,45 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.dto.UserProfile;
+import com.joshtechnologygroup.minisocial.service.ProfileService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+@Validated
+@Slf4j
+class ProfileController {
+    private final ProfileService profileService;
+
+    ProfileController(ProfileService profileService) {
+        this.profileService = profileService;
+    }
+
+    // Personal, residential and official details are only returned for the caller's own id
+    @GetMapping("/{userId}/profile")
+    public ResponseEntity<UserProfile> profile(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable long userId) {
+        return new ResponseEntity<>(profileService.viewProfile(user.id(), userId), HttpStatus.OK);
+    }
+
+    // Several profiles in one round trip, e.g. /api/user/profiles?ids=4,8,15
+    @GetMapping("/profiles")
+    public ResponseEntity<List<UserProfile>> profiles(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam
+            @NotEmpty(message = "At least one user id is required")
+            @Size(max = 100, message = "At most 100 profiles can be read in one request")
+            List<Long> ids
+    ) {
+        return new ResponseEntity<>(profileService.viewProfiles(user.id(), ids), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,36 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.dto.Recommendation;
+import com.joshtechnologygroup.minisocial.graph.FriendRecommender;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+@Validated
+class RecommendationController {
+    private final FriendRecommender friendRecommender;
+
+    RecommendationController(FriendRecommender friendRecommender) {
+        this.friendRecommender = friendRecommender;
+    }
+
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<Recommendation>> recommendations(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return new ResponseEntity<>(friendRecommender.recommend(user.id(), limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,38 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.search.TypeaheadField;
+import com.joshtechnologygroup.minisocial.search.TypeaheadIndex;
+import com.joshtechnologygroup.minisocial.search.TypeaheadMatch;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user")
+@Validated
+class TypeaheadController {
+    private final TypeaheadIndex typeaheadIndex;
+
+    TypeaheadController(TypeaheadIndex typeaheadIndex) {
+        this.typeaheadIndex = typeaheadIndex;
+    }
+
+    // Served from memory, never touches the database
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<TypeaheadMatch>> typeahead(
+            @RequestParam @NotBlank String q,
+            @RequestParam(defaultValue = "NAME") TypeaheadField field,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit
+    ) {
+        return new ResponseEntity<>(typeaheadIndex.search(field, q, limit), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,43 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.UserSearchCriteria;
+import com.joshtechnologygroup.minisocial.dto.UserSearchResult;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.service.UserSearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/user")
+@Validated
+class UserSearchController {
+    private final UserSearchService userSearchService;
+
+    UserSearchController(UserSearchService userSearchService) {
+        this.userSearchService = userSearchService;
+    }
+
+    // e.g. /api/user/search?minAge=25&maxAge=30&maritalStatus=SINGLE&city=Pune&company=X
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<UserSearchResult>> search(
+            @RequestParam(required = false) @Min(0) Integer minAge,
+            @RequestParam(required = false) @Min(0) Integer maxAge,
+            @RequestParam(required = false) MaritalStatus maritalStatus,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String officialCity,
+            @RequestParam(required = false) String company,
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        UserSearchCriteria criteria = new UserSearchCriteria(minAge, maxAge, maritalStatus, city, officialCity, company);
+        return new ResponseEntity<>(userSearchService.search(criteria, after, limit), HttpStatus.OK);
+    }
+}
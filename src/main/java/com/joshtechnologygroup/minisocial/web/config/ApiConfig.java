@@ -4,10 +4,105 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "api.service")
 @Data
 public class ApiConfig {
     private String jwtKey;
     private long jwtExpiry;
+    // Users granted ROLE_ADMIN, needed for /api/export/**
+    private List<String> adminEmails = new ArrayList<>();
+    // Max number of verified tokens kept in memory by JwtClaimsCache
+    private long jwtCacheMaxSize = 10_000;
+    // Build the principal from JWT claims only, skipping the per-request user lookup
+    private boolean statelessAuth = false;
+    // Cache of UserDetails used by UserDetailsServiceImpl
+    private long userCacheMaxSize = 10_000;
+    private Duration userCacheTtl = Duration.ofMinutes(5);
+    // BCrypt cost factor and the bounded pool it runs on
+    private int bcryptStrength = 10;
+    private int bcryptThreads = Runtime.getRuntime().availableProcessors();
+    private int bcryptQueueCapacity = 100;
+    private long bcryptRetryAfterSeconds = 1;
+    // Token buckets on /api/user/authenticate per client address and per email, see AuthRateLimitFilter.
+    // maxKeys bounds the buckets held in memory by LocalRateLimiter
+    private boolean authRateLimitEnabled = true;
+    private long authRateLimitIpCapacity = 20;
+    private Duration authRateLimitIpPeriod = Duration.ofMinutes(1);
+    private long authRateLimitEmailCapacity = 5;
+    private Duration authRateLimitEmailPeriod = Duration.ofMinutes(1);
+    private long authRateLimitMaxKeys = 100_000;
+    // Max concurrently checked out DB connections, only applied when set (vthreads profile)
+    private int dbMaxConcurrency;
+    private Duration dbAcquireTimeout = Duration.ofSeconds(2);
+    // With a read replica configured (spring.datasource.replica.url), users read from the primary for this long after a write
+    private Duration replicaStickiness = Duration.ofSeconds(5);
+    private long replicaStickinessMaxUsers = 100_000;
+    // Background repair of users.follower_count / following_count
+    private boolean followCounterReconcileEnabled = true;
+    private Duration followCounterReconcileInterval = Duration.ofHours(1);
+    private int followCounterReconcileBatchSize = 1_000;
+    // Exposes GET /api/export/users
+    private boolean exportApiEnabled = false;
+    // Background rebuild of the in-memory typeahead index
+    private Duration typeaheadRebuildInterval = Duration.ofMinutes(15);
+    // In-memory follower graph used for recommendations
+    private Duration followGraphRebuildInterval = Duration.ofMinutes(10);
+    // Two hop edge count above which recommendations are computed on the fork-join pool
+    private long recommendationParallelThreshold = 50_000;
+    // Answer relationship checks from the follower graph instead of the database. The graph only sees
+    // follow changes made through this instance between rebuilds, so only enable it on a single instance
+    private boolean relationshipGraphEnabled = false;
+    // Home feed: per-user timeline buffers of pushed post ids, bounded by users and by posts per user
+    private int feedTimelineCapacity = 500;
+    private long feedTimelineMaxUsers = 100_000;
+    private Duration feedTimelineIdleTtl = Duration.ofHours(1);
+    // Authors with at least this many followers are not fanned out on write, followers pull their posts
+    private long feedCelebrityFollowerThreshold = 10_000;
+    private int feedFanOutThreads = 2;
+    private int feedFanOutQueueCapacity = 10_000;
+    // Transactional outbox delivery to asynchronous subscribers
+    private boolean outboxEnabled = true;
+    private Duration outboxPollInterval = Duration.ofMillis(500);
+    private int outboxBatchSize = 100;
+    private int outboxThreads = 4;
+    private int outboxQueueCapacity = 100;
+    private int outboxMaxAttempts = 10;
+    // Doubled after every failed attempt
+    private Duration outboxRetryBackoff = Duration.ofSeconds(1);
+    private Duration outboxRetention = Duration.ofDays(7);
+    // Events claimed longer ago than this by a poller that never finished are polled again
+    private Duration outboxClaimTimeout = Duration.ofMinutes(10);
+    // Asynchronous mail through mail_queue, needs spring.mail.* to point at an SMTP server
+    private boolean mailEnabled = false;
+    private String mailFrom = "no-reply@minisocial.local";
+    private Duration mailPollInterval = Duration.ofSeconds(1);
+    private int mailRatePerSecond = 20;
+    // Mails sent over one SMTP connection
+    private int mailBatchSize = 50;
+    private int mailThreads = 2;
+    private int mailMaxAttempts = 8;
+    // Doubled after every failed attempt
+    private Duration mailRetryBackoff = Duration.ofSeconds(30);
+    // Mails claimed longer ago than this by a dispatcher that never finished are queued again
+    private Duration mailClaimTimeout = Duration.ofMinutes(10);
+    private Duration mailRetention = Duration.ofDays(7);
+    // Per-method "repository.query" timers on Spring Data repositories
+    private boolean repositoryMetricsEnabled = true;
+    // Hibernate second-level cache for User (and its email natural id) and the profile detail entities,
+    // one Caffeine region per entry of secondLevelCacheRegions, see SecondLevelCacheConfig
+    private boolean secondLevelCacheEnabled = true;
+    private Map<String, CacheRegion> secondLevelCacheRegions = new LinkedHashMap<>();
+
+    @Data
+    public static class CacheRegion {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofHours(1);
+    }
 }
@@ -0,0 +1,44 @@
+package com.joshtechnologygroup.minisocial.web.config;
+
+import com.joshtechnologygroup.minisocial.util.ConcurrencyLimitedDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+// Enabled by the "vthreads" profile, see application-vthreads.properties
+@Configuration
+@ConditionalOnProperty(prefix = "api.service", name = "db-max-concurrency")
+public class DbConcurrencyLimitConfig {
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiter(ObjectProvider<ApiConfig> apiConfig, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                // Only pools are limited, not proxies over them such as ReadWriteRoutingDataSource, so a permit
+                // is taken once per physical connection and each pool gets its own limit
+                if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                ApiConfig config = apiConfig.getObject();
+                ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(
+                        dataSource,
+                        config.getDbMaxConcurrency(),
+                        config.getDbAcquireTimeout()
+                );
+                Gauge.builder("db.concurrency.permits.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .tag("datasource", beanName)
+                        .register(meterRegistry.getObject());
+                return limited;
+            }
+        };
+    }
+}
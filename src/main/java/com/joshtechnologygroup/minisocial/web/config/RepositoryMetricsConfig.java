@@ -0,0 +1,34 @@
+package com.joshtechnologygroup.minisocial.web.config;
+
+import com.joshtechnologygroup.minisocial.util.RepositoryTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+// Wraps every Spring Data repository so each query method gets its own latency timer
+@Configuration
+@ConditionalOnProperty(prefix = "api.service", name = "repository-metrics-enabled", havingValue = "true")
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof Repository<?, ?>)) return bean;
+                // The first proxied interface is the application one, e.g. UserRepository
+                String repository = AopProxyUtils.proxiedUserInterfaces(bean)[0].getSimpleName();
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.addAdvice(new RepositoryTimingInterceptor(meterRegistry.getObject(), repository));
+                return factory.getProxy();
+            }
+        };
+    }
+}
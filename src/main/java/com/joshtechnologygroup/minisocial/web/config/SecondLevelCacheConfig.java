@@ -0,0 +1,55 @@
+package com.joshtechnologygroup.minisocial.web.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// Hibernate second-level cache on Caffeine through JCache. Regions are created here from
+// api.service.second-level-cache-regions so size and TTL live with the rest of the configuration.
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+    // Region names used by the @Cache / @NaturalIdCache annotations on the entities
+    public static final String USER_REGION = "user";
+    public static final String USER_EMAIL_REGION = "user-email";
+    public static final String USER_DETAIL_REGION = "user-detail";
+    public static final String RESIDENTIAL_DETAIL_REGION = "residential-detail";
+    public static final String OFFICIAL_DETAIL_REGION = "official-detail";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(ApiConfig apiConfig) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, apiConfig.isSecondLevelCacheEnabled());
+            if (!apiConfig.isSecondLevelCacheEnabled()) return;
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager(apiConfig.getSecondLevelCacheRegions()));
+            // Every region is declared in configuration, a typo in an annotation should fail startup
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CacheManager cacheManager(Map<String, ApiConfig.CacheRegion> regions) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        regions.forEach((name, region) -> {
+            // The provider's manager is shared per class loader, e.g. by several test contexts
+            if (cacheManager.getCache(name) != null) return;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+            log.info("Second-level cache region {}: maxSize={} ttl={}", name, region.getMaxSize(), region.getTtl());
+        });
+        return cacheManager;
+    }
+}
@@ -1,6 +1,9 @@
 package com.joshtechnologygroup.minisocial.web.config;
 
+import com.joshtechnologygroup.minisocial.filter.AuthRateLimitFilter;
 import com.joshtechnologygroup.minisocial.filter.JwtFilter;
+import com.joshtechnologygroup.minisocial.util.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -9,19 +12,24 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, AuthRateLimitFilter authRateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
     }
 
     @Bean
@@ -36,6 +44,8 @@ public class SecurityConfig {
                                 .permitAll()
                                 .requestMatchers("/api/user/authenticate")// Login endpoint
                                 .permitAll()
+                                .requestMatchers("/api/export/**") // Every user's personal data
+                                .hasRole("ADMIN")
                                 .anyRequest()
                                 .authenticated()
                 )
@@ -44,15 +54,35 @@ public class SecurityConfig {
                         jwtFilter,
                         UsernamePasswordAuthenticationFilter.class
                 )
+                // Login attempts over the limit are turned away before any authentication work
+                .addFilterBefore(
+                        authRateLimitFilter,
+                        JwtFilter.class
+                )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .build();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(ApiConfig apiConfig, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                delegatingPasswordEncoder(apiConfig.getBcryptStrength()),
+                apiConfig.getBcryptThreads(),
+                apiConfig.getBcryptQueueCapacity(),
+                apiConfig.getBcryptRetryAfterSeconds(),
+                meterRegistry
+        );
+    }
+
+    // Hashes are stored as "{bcrypt}...", legacy hashes without a prefix are still matched
+    // and get re-encoded on the next successful login (see UserDetailsServiceImpl.updatePassword)
+    public static PasswordEncoder delegatingPasswordEncoder(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.<String, PasswordEncoder>of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
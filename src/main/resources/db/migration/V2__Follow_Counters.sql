@@ -0,0 +1,6 @@
+ALTER TABLE users ADD COLUMN follower_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN following_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE users
+SET follower_count  = (SELECT COUNT(*) FROM followers f WHERE f.followed_user = users.id),
+    following_count = (SELECT COUNT(*) FROM followers f WHERE f.following_user = users.id);
@@ -0,0 +1,5 @@
+-- Equality on marital_status followed by an age range, user_id rides along as the InnoDB PK suffix
+CREATE INDEX idx_user_details_status_age ON user_details (marital_status, age);
+
+-- Company + office city filters together without a table lookup per candidate row
+CREATE INDEX idx_official_company_city ON official_details (company_name, city);
@@ -0,0 +1,15 @@
+CREATE TABLE posts
+(
+    id         BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    author_id  BIGINT UNSIGNED NOT NULL,
+    content    VARCHAR(1000) NOT NULL,
+    -- FALSE for posts by accounts above the celebrity threshold, which followers pull at read time
+    fanned_out BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (author_id)
+        REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- One short range per followed author and delivery mode when building a feed
+CREATE INDEX idx_posts_author_mode ON posts (author_id, fanned_out, id);
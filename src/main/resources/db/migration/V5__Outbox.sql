@@ -0,0 +1,29 @@
+-- Transactional outbox: rows are written in the same transaction as the change that caused them
+-- and delivered to in-process subscribers by OutboxDispatcher
+CREATE TABLE outbox_events
+(
+    id              BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    event_key       CHAR(36)     NOT NULL UNIQUE,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         TEXT         NOT NULL,
+    status          ENUM('PENDING', 'PROCESSED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts        INT UNSIGNED NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    last_error      VARCHAR(1000),
+    created_at      DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    processed_at    DATETIME(3)
+);
+
+CREATE INDEX idx_outbox_due ON outbox_events (status, next_attempt_at);
+
+-- Idempotency keys of events each subscriber has already handled
+CREATE TABLE outbox_deliveries
+(
+    subscriber   VARCHAR(100) NOT NULL,
+    event_key    CHAR(36)     NOT NULL,
+    delivered_at DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+    PRIMARY KEY (subscriber, event_key)
+);
+
+CREATE INDEX idx_outbox_deliveries_time ON outbox_deliveries (delivered_at);
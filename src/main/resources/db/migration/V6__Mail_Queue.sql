@@ -0,0 +1,19 @@
+-- Outgoing mail, sent asynchronously by MailDispatcher
+CREATE TABLE mail_queue
+(
+    id              BIGINT UNSIGNED AUTO_INCREMENT PRIMARY KEY,
+    mail_key        VARCHAR(255) NOT NULL UNIQUE,
+    recipient       VARCHAR(255) NOT NULL,
+    template        VARCHAR(100) NOT NULL,
+    model           TEXT         NOT NULL,
+    status          ENUM('PENDING', 'SENDING', 'SENT', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    attempts        INT UNSIGNED NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    claim           CHAR(36),
+    claimed_at      DATETIME(3),
+    last_error      VARCHAR(1000),
+    created_at      DATETIME(3)  NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    sent_at         DATETIME(3)
+);
+
+CREATE INDEX idx_mail_queue_due ON mail_queue (status, next_attempt_at);
@@ -0,0 +1,13 @@
+-- Block allocated ids. next_val is the next free id of a sequence; a writer reserves [next_val, next_val + n)
+-- by raising it under a row lock. users ids come from here (Hibernate pooled-lo table generator on User and
+-- UserImportJdbcRepository.allocateUserIds) so inserts no longer wait for AUTO_INCREMENT and can be batched.
+-- users.id keeps AUTO_INCREMENT only because the column is referenced by foreign keys; inserts must supply the id.
+CREATE TABLE id_allocations
+(
+    name     VARCHAR(64)     NOT NULL PRIMARY KEY,
+    next_val BIGINT UNSIGNED NOT NULL
+);
+
+INSERT INTO id_allocations (name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 1
+FROM users;
@@ -0,0 +1,10 @@
+-- Pollers claim due outbox rows before delivering them, as MailDispatcher does with mail_queue, so
+-- several instances work on different rows instead of racing on the outbox_deliveries primary key
+ALTER TABLE outbox_events
+    MODIFY COLUMN status ENUM('PENDING', 'CLAIMED', 'PROCESSED', 'FAILED') NOT NULL DEFAULT 'PENDING';
+
+ALTER TABLE outbox_events
+    ADD COLUMN claim CHAR(36);
+
+ALTER TABLE outbox_events
+    ADD COLUMN claimed_at DATETIME(3);
@@ -0,0 +1,8 @@
+-- TRUE once a user has written a post that followers pull at read time (posts.fanned_out = FALSE). Feed reads
+-- only probe the posts of followed users with this flag. It is never cleared: an account that drops back
+-- below the celebrity threshold still has pulled posts that must stay in its followers' feeds.
+ALTER TABLE users ADD COLUMN has_pulled_posts BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE users
+SET has_pulled_posts = TRUE
+WHERE id IN (SELECT author_id FROM posts WHERE fanned_out = FALSE);
@@ -0,0 +1,43 @@
+package com.joshtechnologygroup.minisocial.feed;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineBufferTest {
+
+    @Test
+    void returnsNewestFirstBelowCursor() {
+        TimelineBuffer buffer = new TimelineBuffer(10);
+        buffer.add(3);
+        buffer.add(7);
+        buffer.add(5);
+        buffer.add(7);
+
+        assertArrayEquals(new long[]{7, 5, 3}, buffer.before(Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[]{5}, buffer.before(7, 1));
+        assertEquals(3, buffer.size());
+        assertFalse(buffer.isTruncated());
+    }
+
+    @Test
+    void dropsOldestWhenFull() {
+        TimelineBuffer buffer = new TimelineBuffer(3);
+        for (long id = 1; id <= 5; id++) buffer.add(id);
+        // Older than everything kept, ignored
+        buffer.add(1);
+
+        assertArrayEquals(new long[]{5, 4, 3}, buffer.before(Long.MAX_VALUE, 10));
+        assertTrue(buffer.isTruncated());
+    }
+
+    @Test
+    void outOfOrderInsertAfterWrapAround() {
+        TimelineBuffer buffer = new TimelineBuffer(4);
+        for (long id : new long[]{10, 20, 30, 40, 50, 60}) buffer.add(id);
+        buffer.add(45);
+
+        assertArrayEquals(new long[]{60, 50, 45, 40}, buffer.before(Long.MAX_VALUE, 10));
+        assertArrayEquals(new long[]{45, 40}, buffer.before(50, 10));
+    }
+}
@@ -0,0 +1,142 @@
+package com.joshtechnologygroup.minisocial.filter;
+
+import com.joshtechnologygroup.minisocial.exception.InvalidRequestException;
+import com.joshtechnologygroup.minisocial.exception.RateLimitExceededException;
+import com.joshtechnologygroup.minisocial.ratelimit.RateLimit;
+import com.joshtechnologygroup.minisocial.ratelimit.RateLimiter;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuthRateLimitFilterTest {
+    private static final String BODY = "{\"email\":\"Someone@Example.com\",\"password\":\"password123\",\"extra\":1}";
+
+    private RateLimiter rateLimiter;
+    private HandlerExceptionResolver exceptionResolver;
+    private SimpleMeterRegistry meterRegistry;
+    private AuthRateLimitFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = mock(RateLimiter.class);
+        exceptionResolver = mock(HandlerExceptionResolver.class);
+        meterRegistry = new SimpleMeterRegistry();
+        chain = mock(FilterChain.class);
+        filter = new AuthRateLimitFilter(rateLimiter, JsonMapper.builder().build(), exceptionResolver, new ApiConfig(), meterRegistry);
+    }
+
+    @Test
+    void allowedLoginReachesChainWithReadableBody() throws Exception {
+        run(login(BODY));
+
+        ArgumentCaptor<ServletRequest> forwarded = ArgumentCaptor.forClass(ServletRequest.class);
+        verify(chain).doFilter(forwarded.capture(), any());
+        assertEquals(BODY, new String(forwarded.getValue().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        verify(rateLimiter).tryAcquire(eq("ip:10.0.0.1"), any(RateLimit.class));
+        verify(rateLimiter).tryAcquire(eq("email:someone@example.com"), any(RateLimit.class));
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void forwardedBodyCanBeReadWithReadListener() throws Exception {
+        run(login(BODY));
+
+        ArgumentCaptor<ServletRequest> forwarded = ArgumentCaptor.forClass(ServletRequest.class);
+        verify(chain).doFilter(forwarded.capture(), any());
+        ServletInputStream in = forwarded.getValue().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        ReadListener listener = mock(ReadListener.class);
+        doAnswer(invocation -> {
+            in.transferTo(read);
+            return null;
+        }).when(listener).onDataAvailable();
+
+        in.setReadListener(listener);
+
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+        verify(listener).onAllDataRead();
+        verify(listener, never()).onError(any());
+    }
+
+    @Test
+    void addressOverLimitIsRejectedWithoutReadingBody() throws Exception {
+        when(rateLimiter.tryAcquire(eq("ip:10.0.0.1"), any())).thenReturn(TimeUnit.MILLISECONDS.toNanos(1_500));
+
+        run(login(BODY));
+
+        ArgumentCaptor<Exception> rejected = ArgumentCaptor.forClass(Exception.class);
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), rejected.capture());
+        assertEquals(2, ((RateLimitExceededException) rejected.getValue()).getRetryAfterSeconds());
+        verify(rateLimiter, never()).tryAcquire(startsWith("email:"), any());
+        verifyNoInteractions(chain);
+        assertEquals(1, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "ip").counter().count());
+    }
+
+    @Test
+    void emailOverLimitIsRejected() throws Exception {
+        when(rateLimiter.tryAcquire(eq("email:someone@example.com"), any())).thenReturn(1L);
+
+        run(login(BODY));
+
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(RateLimitExceededException.class));
+        verifyNoInteractions(chain);
+        assertEquals(1, meterRegistry.get("auth.ratelimit.rejected").tag("limit", "email").counter().count());
+    }
+
+    @Test
+    void malformedBodyIsLeftToValidation() throws Exception {
+        run(login("not json"));
+
+        verify(chain).doFilter(any(), any());
+        verify(rateLimiter, never()).tryAcquire(startsWith("email:"), any());
+    }
+
+    @Test
+    void oversizedBodyIsRejected() throws Exception {
+        run(login("x".repeat(AuthRateLimitFilter.MAX_BODY_BYTES + 1)));
+
+        verify(exceptionResolver).resolveException(any(), any(), isNull(), any(InvalidRequestException.class));
+        verifyNoInteractions(chain);
+    }
+
+    @Test
+    void otherRequestsAreNotLimited() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+
+        run(request);
+
+        verify(chain).doFilter(any(), any());
+        verifyNoInteractions(rateLimiter);
+    }
+
+    private MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", AuthRateLimitFilter.LOGIN_PATH);
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private void run(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,134 @@
+package com.joshtechnologygroup.minisocial.filter;
+
+import com.joshtechnologygroup.minisocial.service.TokenRevocationService;
+import com.joshtechnologygroup.minisocial.service.UserDetailsServiceImpl;
+import com.joshtechnologygroup.minisocial.util.JwtClaimsCache;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtFilterTest {
+    private final String TEST_MAIL = "test@abc.com";
+
+    private ApiConfig apiConfig;
+    private JwtUtil jwtUtil;
+    private UserDetailsServiceImpl userDetailsService;
+    private TokenRevocationService tokenRevocationService;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        apiConfig = new ApiConfig();
+        apiConfig.setJwtKey("uOG/GhZwQ8xGxZJ/kpez1kivocjQAm6XY2D4px/VGqQ=");
+        apiConfig.setJwtExpiry(1000 * 60 * 60 * 4);
+        apiConfig.setJwtCacheMaxSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(apiConfig);
+        userDetailsService = mock(UserDetailsServiceImpl.class);
+        chain = mock(FilterChain.class);
+        tokenRevocationService = new TokenRevocationService(apiConfig);
+        filter = new JwtFilter(new JwtClaimsCache(jwtUtil, apiConfig, meterRegistry), userDetailsService, tokenRevocationService, apiConfig, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenIsRecordedAsSuccess() throws Exception {
+        when(userDetailsService.loadUserByUsername(TEST_MAIL)).thenReturn(User.withUsername(TEST_MAIL).password("unused").build());
+
+        run("Bearer " + jwtUtil.generateToken(TEST_MAIL, 1L));
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.SUCCESS));
+        assertEquals(1, count("auth.jwt.verify", JwtFilter.SUCCESS));
+    }
+
+    @Test
+    void failuresAreRecordedByReasonAndContinueTheChain() throws Exception {
+        when(userDetailsService.loadUserByUsername(TEST_MAIL)).thenThrow(new UsernameNotFoundException(TEST_MAIL));
+
+        run(null);
+        run("Bearer not-a-token");
+        run("Bearer " + jwtUtil.generateToken(TEST_MAIL, 1L));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.MISSING_HEADER));
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.INVALID_TOKEN));
+        assertEquals(1, count("auth.jwt.verify", JwtFilter.INVALID_TOKEN));
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.UNKNOWN_USER));
+        assertEquals(0, count("auth.jwt.filter", JwtFilter.SUCCESS));
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+
+    @Test
+    void statelessTokenIssuedBeforePasswordChangeIsRejected() throws Exception {
+        apiConfig.setStatelessAuth(true);
+        String token = jwtUtil.generateToken(TEST_MAIL, 1L);
+        tokenRevocationService.revokeTokensIssuedBefore(TEST_MAIL, issuedAt(token).plusSeconds(1));
+
+        run("Bearer " + token);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.REVOKED));
+    }
+
+    @Test
+    void statelessTokenIssuedAfterPasswordChangeIsAccepted() throws Exception {
+        apiConfig.setStatelessAuth(true);
+        String token = jwtUtil.generateToken(TEST_MAIL, 1L);
+        tokenRevocationService.revokeTokensIssuedBefore(TEST_MAIL, issuedAt(token).minusSeconds(1));
+
+        run("Bearer " + token);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.SUCCESS));
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    // "iat" has second precision, so the cutoff is rounded up to the next second and a token issued
+    // earlier in the same second as the change is revoked too
+    @Test
+    void statelessTokenIssuedInTheSameSecondAsPasswordChangeIsRejected() throws Exception {
+        apiConfig.setStatelessAuth(true);
+        String token = jwtUtil.generateToken(TEST_MAIL, 1L);
+        tokenRevocationService.revokeTokensIssuedBefore(TEST_MAIL, issuedAt(token).plusMillis(999));
+
+        run("Bearer " + token);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("auth.jwt.filter", JwtFilter.REVOKED));
+    }
+
+    private Instant issuedAt(String token) {
+        return jwtUtil.extractAllClaims(token).getIssuedAt().toInstant();
+    }
+
+    private void run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+        if (authorization != null) request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private long count(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,61 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import com.joshtechnologygroup.minisocial.load.LoadReports;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Memory per edge and recommendation latency on a synthetic 10M edge graph (./gradlew loadTest)
+@Tag("load")
+class FollowGraphBenchmarkTest {
+    private static final int USERS = 1_000_000;
+    private static final int EDGES = 10_000_000;
+    private static final int QUERIES = 2_000;
+
+    @Test
+    void recommendationsAtTenMillionEdges() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] ids = new long[USERS];
+        for (int i = 0; i < USERS; i++) ids[i] = i + 1;
+
+        // Skewed target choice so a few accounts collect most followers, like real follower graphs
+        long buildStart = System.nanoTime();
+        FollowGraph.Builder builder = FollowGraph.builder(ids, EDGES);
+        for (int i = 0; i < EDGES; i++) {
+            long follower = random.nextInt(USERS) + 1;
+            double u = random.nextDouble();
+            long followed = (long) (USERS * u * u * u) + 1;
+            builder.addEdge(follower, followed);
+        }
+        FollowGraph graph = builder.build();
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FollowGraphService graphService = new FollowGraphService(null, meterRegistry);
+        graphService.install(graph);
+        FriendRecommender recommender = new FriendRecommender(graphService, new ApiConfig(), meterRegistry);
+
+        for (int i = 0; i < 200; i++) recommender.recommend(random.nextInt(USERS) + 1, 20);
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            recommender.recommend(random.nextInt(USERS) + 1, 20);
+            latencies[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(latencies);
+
+        String report = String.format(
+                "users=%d edges=%d build=%dms bytes=%d bytesPerEdge=%.2f p50=%dus p99=%dus max=%dus%n",
+                graph.nodeCount(), graph.edgeCount(), buildMillis, graph.estimatedBytes(),
+                (double) graph.estimatedBytes() / graph.edgeCount(),
+                latencies[QUERIES / 2], latencies[(int) (QUERIES * 0.99)], latencies[QUERIES - 1]
+        );
+        LoadReports.publish("follow-graph.txt", report, "Follow graph benchmark: " + report.strip());
+    }
+}
@@ -0,0 +1,63 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import com.joshtechnologygroup.minisocial.dto.Relationship;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FollowGraphServiceTest {
+    private FollowGraphService graphService;
+
+    @BeforeEach
+    void setUp() {
+        graphService = new FollowGraphService(null, new SimpleMeterRegistry());
+        // 1 follows 2, 3 and 5, 2 and 4 follow 1
+        graphService.install(FollowGraph.builder(new long[]{1, 2, 3, 4, 5}, 8)
+                .addEdge(1, 2)
+                .addEdge(1, 3)
+                .addEdge(1, 5)
+                .addEdge(2, 1)
+                .addEdge(4, 1)
+                .build());
+    }
+
+    @Test
+    void relationshipsKeepRequestOrder() {
+        assertEquals(
+                List.of(
+                        new Relationship(5L, true, false),
+                        new Relationship(4L, false, true),
+                        new Relationship(2L, true, true),
+                        new Relationship(42L, false, false)
+                ),
+                graphService.relationships(1, List.of(5L, 4L, 2L, 42L))
+        );
+    }
+
+    @Test
+    void relationshipsIncludePendingChanges() {
+        graphService.onFollowChanged(new FollowChangedEvent(1L, List.of(2L), false));
+        graphService.onFollowChanged(new FollowChangedEvent(1L, List.of(4L), true));
+        graphService.onFollowChanged(new FollowChangedEvent(3L, List.of(1L), true));
+
+        assertEquals(
+                List.of(
+                        new Relationship(2L, false, true),
+                        new Relationship(3L, true, true),
+                        new Relationship(4L, true, true)
+                ),
+                graphService.relationships(1, List.of(2L, 3L, 4L))
+        );
+    }
+
+    @Test
+    void notLoadedUntilFirstSnapshot() {
+        assertTrue(graphService.isLoaded());
+        assertFalse(new FollowGraphService(null, new SimpleMeterRegistry()).isLoaded());
+    }
+}
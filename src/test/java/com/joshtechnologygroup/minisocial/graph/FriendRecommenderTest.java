@@ -0,0 +1,56 @@
+package com.joshtechnologygroup.minisocial.graph;
+
+import com.joshtechnologygroup.minisocial.dto.Recommendation;
+import com.joshtechnologygroup.minisocial.event.FollowChangedEvent;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FriendRecommenderTest {
+    private FollowGraphService graphService;
+    private FriendRecommender recommender;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        graphService = new FollowGraphService(null, meterRegistry);
+        // 1 follows 2 and 3, both follow 4, only 3 follows 5, 2 follows 1 back
+        graphService.install(FollowGraph.builder(new long[]{1, 2, 3, 4, 5}, 8)
+                .addEdge(1, 2)
+                .addEdge(1, 3)
+                .addEdge(2, 4)
+                .addEdge(3, 4)
+                .addEdge(3, 5)
+                .addEdge(2, 1)
+                .build());
+        ApiConfig apiConfig = new ApiConfig();
+        recommender = new FriendRecommender(graphService, apiConfig, meterRegistry);
+    }
+
+    @Test
+    void ranksByMutualCountAndSkipsSelfAndFollowed() {
+        assertEquals(
+                List.of(new Recommendation(4L, 2), new Recommendation(5L, 1)),
+                recommender.recommend(1, 10)
+        );
+    }
+
+    @Test
+    void pendingChangesAreApplied() {
+        graphService.onFollowChanged(new FollowChangedEvent(2L, List.of(5L), true));
+        graphService.onFollowChanged(new FollowChangedEvent(1L, List.of(4L), true));
+
+        assertTrue(graphService.follows(1, 4));
+        assertEquals(List.of(new Recommendation(5L, 2)), recommender.recommend(1, 10));
+    }
+
+    @Test
+    void unknownUserHasNoRecommendations() {
+        assertEquals(List.of(), recommender.recommend(42, 10));
+    }
+}
@@ -0,0 +1,170 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import com.joshtechnologygroup.minisocial.graph.FollowGraphService;
+import com.joshtechnologygroup.minisocial.service.FollowService;
+import com.joshtechnologygroup.minisocial.tools.RecordFormat;
+import com.joshtechnologygroup.minisocial.tools.UserImporter;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Seeds Datafaker users through the bulk importer, builds a skewed follow graph, then drives a mix of
+// login, profile and follow graph requests and checks every endpoint against loadtest-slo.properties.
+//   ./gradlew loadTest [-Ploadtest.users=5000] [-Ploadtest.clients=64] [-Ploadtest.durationSeconds=60]
+// Reports: build/reports/load/end-to-end.txt and end-to-end.json
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final int FOLLOWS_PER_USER = Integer.getInteger("loadtest.followsPerUser", 30);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final String PASSWORD = "load-test-password";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private FollowGraphService followGraphService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mixedWorkloadMeetsSlos() throws Exception {
+        LoadDataGenerator generator = new LoadDataGenerator(42);
+
+        // Bulk import scenario, also seeds the users for the request mix
+        Path input = generator.writeUsers(tempDir.resolve("users.ndjson"), USERS, PASSWORD, objectMapper);
+        long importStart = System.nanoTime();
+        UserImporter.Result imported = userImporter.importFile(input, RecordFormat.NDJSON, tempDir.resolve("users.checkpoint"),
+                500, Runtime.getRuntime().availableProcessors(), false);
+        double importSeconds = (System.nanoTime() - importStart) / 1e9;
+
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'load-%' ORDER BY id", Long.class);
+        Map<Long, String> emails = jdbcTemplate.query("SELECT id, email FROM users WHERE email LIKE 'load-%'",
+                        (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getString(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        for (int i = 0; i < userIds.size(); i++) {
+            followService.followAll(userIds.get(i), generator.followTargets(userIds, i, FOLLOWS_PER_USER));
+        }
+        awaitGraph();
+
+        Map<Long, String> tokens = new LinkedHashMap<>();
+        emails.forEach((id, email) -> tokens.put(id, jwtUtil.generateToken(email, id)));
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        LoadClient client = new LoadClient(port, CLIENTS, recorder);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long userId = userIds.get(random.nextInt(userIds.size()));
+                    long otherId = userIds.get(random.nextInt(userIds.size()));
+                    String token = tokens.get(userId);
+                    int pick = random.nextInt(100);
+                    if (pick < 5) {
+                        String body = "{\"email\":\"" + emails.get(userId) + "\",\"password\":\"" + PASSWORD + "\"}";
+                        client.postJson("login", "/api/user/authenticate", body, null);
+                    } else if (pick < 30) {
+                        client.get("me", "/api/user/me", token);
+                    } else if (pick < 45) {
+                        client.get("followers", "/api/user/" + otherId + "/followers?limit=20", token);
+                    } else if (pick < 60) {
+                        client.get("following", "/api/user/" + otherId + "/following?limit=20", token);
+                    } else if (pick < 70) {
+                        client.get("follow-counts", "/api/user/" + otherId + "/follow-counts", token);
+                    } else if (pick < 85) {
+                        String ids = random.ints(20, 0, userIds.size())
+                                .mapToObj(index -> String.valueOf(userIds.get(index)))
+                                .collect(Collectors.joining(","));
+                        client.get("relationships", "/api/user/relationships?ids=" + ids, token);
+                    } else {
+                        client.get("recommendations", "/api/user/recommendations?limit=20", token);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(DURATION_SECONDS + 60L, TimeUnit.SECONDS));
+        client.close();
+
+        Map<String, LatencyRecorder.Summary> summaries = recorder.summarize(DURATION_SECONDS);
+        SloPolicy slo = SloPolicy.load();
+        List<String> violations = new ArrayList<>(slo.violations(summaries));
+        double importThroughput = imported.read() / importSeconds;
+        slo.checkMin(violations, "import", "minThroughput", importThroughput);
+
+        writeReport(summaries, imported, importSeconds, violations);
+        assertTrue(violations.isEmpty(), "SLOs breached:\n" + String.join("\n", violations));
+    }
+
+    private void awaitGraph() throws InterruptedException {
+        followGraphService.rebuildAsync();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (followGraphService.snapshot().edgeCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private void writeReport(Map<String, LatencyRecorder.Summary> summaries, UserImporter.Result imported, double importSeconds, List<String> violations) throws Exception {
+        StringBuilder report = new StringBuilder()
+                .append("java=").append(Runtime.version())
+                .append(" users=").append(USERS)
+                .append(" clients=").append(CLIENTS)
+                .append(" duration=").append(DURATION_SECONDS).append("s\n")
+                .append(String.format("import: records=%d imported=%d seconds=%.2f throughput=%.1f/s%n",
+                        imported.read(), imported.imported(), importSeconds, imported.read() / importSeconds));
+        summaries.forEach((endpoint, summary) -> report.append(endpoint).append(": ").append(summary).append('\n'));
+        violations.forEach(violation -> report.append("SLO BREACHED ").append(violation).append('\n'));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("users", USERS);
+        json.put("clients", CLIENTS);
+        json.put("durationSeconds", DURATION_SECONDS);
+        json.put("import", Map.of("records", imported.read(), "seconds", importSeconds, "throughput", imported.read() / importSeconds));
+        json.put("endpoints", summaries);
+        json.put("violations", violations);
+
+        LoadReports.write("end-to-end.json", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+        LoadReports.publish("end-to-end.txt", report.toString(),
+                String.format("End-to-end load: %d endpoints, %d SLO breaches", summaries.size(), violations.size()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collects per endpoint latencies (in microseconds) and error counts for a load run
+class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        Samples s = samples.computeIfAbsent(endpoint, k -> new Samples());
+        s.add(nanos / 1_000);
+        if (!success) s.errors.incrementAndGet();
+    }
+
+    Map<String, Summary> summarize(double seconds) {
+        Map<String, Summary> result = new TreeMap<>();
+        samples.forEach((endpoint, s) -> result.put(endpoint, s.summarize(seconds)));
+        return result;
+    }
+
+    record Summary(long count, long errors, double throughput, long p50, long p99, long p999, long max) {
+        @Override
+        public String toString() {
+            return String.format("count=%d errors=%d throughput=%.1f/s p50=%dus p99=%dus p999=%dus max=%dus",
+                    count, errors, throughput, p50, p99, p999, max);
+        }
+    }
+
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        synchronized Summary summarize(double seconds) {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new Summary(size, errors.get(), size / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    size == 0 ? 0 : sorted[size - 1]);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
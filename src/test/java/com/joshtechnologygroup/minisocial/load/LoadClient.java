@@ -0,0 +1,65 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// HTTP client for load scenarios, every request is timed into the recorder under its endpoint label
+class LoadClient implements AutoCloseable {
+    private final HttpClient client;
+    private final ExecutorService clientExecutor;
+    private final LatencyRecorder recorder;
+    private final int port;
+
+    LoadClient(int port, int threads, LatencyRecorder recorder) {
+        this.port = port;
+        this.recorder = recorder;
+        this.clientExecutor = Executors.newFixedThreadPool(threads);
+        this.client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .build();
+    }
+
+    void get(String endpoint, String path, String token) {
+        send(endpoint, HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build());
+    }
+
+    void postJson(String endpoint, String path, String body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        send(endpoint, request.build());
+    }
+
+    void send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            success = status >= 200 && status < 300;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, success);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.tools.RecordFormat;
+import com.joshtechnologygroup.minisocial.tools.UserRecord;
+import com.joshtechnologygroup.minisocial.tools.UserRecordWriter;
+import net.datafaker.Faker;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+// Deterministic (seeded) fake users and follow edges for load scenarios
+class LoadDataGenerator {
+    private final Faker faker;
+    private final Random random;
+
+    LoadDataGenerator(long seed) {
+        this.random = new Random(seed);
+        this.faker = new Faker(Locale.ENGLISH, random);
+    }
+
+    static String email(int index) {
+        return "load-" + index + "@example.com";
+    }
+
+    // Writes an NDJSON import file of fully populated users
+    Path writeUsers(Path file, int count, String password, ObjectMapper objectMapper) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file);
+             UserRecordWriter writer = new UserRecordWriter(out, RecordFormat.NDJSON, false, objectMapper)) {
+            for (int i = 0; i < count; i++) {
+                String city = faker.address().city();
+                String company = faker.company().name();
+                writer.write(new UserRecord(
+                        null, email(i), password, null, true,
+                        faker.name().firstName(), faker.name().lastName(),
+                        faker.number().numberBetween(18, 70),
+                        random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+                        MaritalStatus.values()[random.nextInt(MaritalStatus.values().length)],
+                        faker.address().streetAddress(), city, faker.address().state(), faker.address().country(),
+                        faker.phoneNumber().cellPhone(), null,
+                        "EMP-" + i, faker.address().streetAddress(), faker.address().city(), faker.address().state(),
+                        faker.address().country(), faker.phoneNumber().phoneNumber(), "hr-" + i + "@example.com", company
+                ));
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    // Targets skewed towards low indexes, so a few users collect most followers like in real graphs
+    List<Long> followTargets(List<Long> userIds, int self, int count) {
+        Set<Long> targets = new LinkedHashSet<>();
+        int attempts = 0;
+        while (targets.size() < count && attempts++ < count * 4) {
+            double u = random.nextDouble();
+            int index = (int) (userIds.size() * u * u * u);
+            if (index != self) targets.add(userIds.get(index));
+        }
+        return new ArrayList<>(targets);
+    }
+}
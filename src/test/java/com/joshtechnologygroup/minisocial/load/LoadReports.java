@@ -0,0 +1,35 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Report files of the load scenarios and benchmarks, in loadtest.reportDir (set by ./gradlew loadTest)
+// or build/reports/load. Only a one-line summary goes to the log, the numbers live in the files.
+public final class LoadReports {
+    private static final Logger log = LoggerFactory.getLogger(LoadReports.class);
+
+    private LoadReports() { }
+
+    public static Path directory() throws IOException {
+        Path dir = Path.of(System.getProperty("loadtest.reportDir", "build/reports/load"));
+        Files.createDirectories(dir);
+        return dir;
+    }
+
+    public static Path write(String fileName, String content) throws IOException {
+        Path file = directory().resolve(fileName);
+        Files.writeString(file, content);
+        return file;
+    }
+
+    // Writes the report and logs the summary with the report's location
+    public static Path publish(String fileName, String report, String summary) throws IOException {
+        Path file = write(fileName, report);
+        log.info("{} ({})", summary, file);
+        return file;
+    }
+}
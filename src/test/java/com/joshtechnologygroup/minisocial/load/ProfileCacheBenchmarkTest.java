@@ -0,0 +1,108 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import com.joshtechnologygroup.minisocial.dto.UserProfile;
+import com.joshtechnologygroup.minisocial.repository.UserProfileRepository;
+import com.joshtechnologygroup.minisocial.tools.RecordFormat;
+import com.joshtechnologygroup.minisocial.tools.UserImporter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Database round trips per profile read: the joined query against the second-level cache,
+// cold (first pass over the users) and warm. Report: build/reports/load/profile-cache.txt
+@Tag("load")
+@SpringBootTest(properties = "api.service.second-level-cache-enabled=true")
+class ProfileCacheBenchmarkTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final int READS = 20_000;
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Autowired
+    private UserProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void cachedProfileReadsSaveRoundTrips() throws Exception {
+        Path input = new LoadDataGenerator(7).writeUsers(tempDir.resolve("users.ndjson"), USERS, "unused", objectMapper);
+        userImporter.importFile(input, RecordFormat.NDJSON, tempDir.resolve("users.checkpoint"), 500, 2, false);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'load-%' ORDER BY id", Long.class);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        entityManagerFactory.getCache().evictAll();
+
+        Pass joined = run("joined query", false, ids, readOnly, statistics, profileRepository::findJoinedProfile);
+        Pass cold = run("cache, cold", true, ids, readOnly, statistics, profileRepository::findCachedProfile);
+        Pass warm = run("cache, warm", false, ids, readOnly, statistics, profileRepository::findCachedProfile);
+
+        String report = "users=" + ids.size() + " reads=" + READS + "\n" + joined + "\n" + cold + "\n" + warm + "\n"
+                + String.format("round trips saved per warm read: %.2f%n", joined.statementsPerRead() - warm.statementsPerRead());
+        LoadReports.publish("profile-cache.txt", report, String.format("Profile cache benchmark: %.2f statements per warm read, %.2f per joined read",
+                warm.statementsPerRead(), joined.statementsPerRead()));
+
+        assertTrue(warm.statementsPerRead() < joined.statementsPerRead(), report);
+    }
+
+    // A sequential pass reads every user once in id order, otherwise READS random users are read
+    private Pass run(String name, boolean sequential, List<Long> ids, TransactionTemplate readOnly, Statistics statistics, LongFunction<Optional<UserProfile>> read) {
+        int reads = sequential ? ids.size() : READS;
+        SplittableRandom random = new SplittableRandom(42);
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            long id = sequential ? ids.get(i) : ids.get(random.nextInt(ids.size()));
+            readOnly.executeWithoutResult(status -> read.apply(id).orElseThrow());
+        }
+        long nanos = System.nanoTime() - start;
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        return new Pass(name, reads, statistics.getPrepareStatementCount(), nanos, hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+    }
+
+    private record Pass(String name, int reads, long statements, long nanos, double hitRatio) {
+        double statementsPerRead() {
+            return (double) statements / reads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-13s reads=%d statements/read=%.2f avg=%.1fus l2HitRatio=%.2f",
+                    name, reads, statementsPerRead(), nanos / 1_000.0 / reads, hitRatio);
+        }
+    }
+}
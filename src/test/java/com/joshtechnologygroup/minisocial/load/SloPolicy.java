@@ -0,0 +1,62 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// SLOs from loadtest-slo.properties, overridable with "slo.*" system properties.
+// Keys are slo.<endpoint>.<p50|p99|p999|maxErrorRate|minThroughput>, slo.default.* applies to every endpoint.
+class SloPolicy {
+    private final Properties properties = new Properties();
+
+    static SloPolicy load() {
+        SloPolicy policy = new SloPolicy();
+        try (InputStream in = SloPolicy.class.getResourceAsStream("/loadtest-slo.properties")) {
+            if (in != null) policy.properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("slo."))
+                .forEach(name -> policy.properties.setProperty(name, System.getProperty(name)));
+        return policy;
+    }
+
+    // Human readable descriptions of every breached objective, empty if all are met
+    List<String> violations(Map<String, LatencyRecorder.Summary> summaries) {
+        List<String> violations = new ArrayList<>();
+        summaries.forEach((endpoint, summary) -> {
+            checkMax(violations, endpoint, "p50", summary.p50() / 1_000.0);
+            checkMax(violations, endpoint, "p99", summary.p99() / 1_000.0);
+            checkMax(violations, endpoint, "p999", summary.p999() / 1_000.0);
+            double errorRate = summary.count() == 0 ? 0 : (double) summary.errors() / summary.count();
+            checkMax(violations, endpoint, "maxErrorRate", errorRate);
+            checkMin(violations, endpoint, "minThroughput", summary.throughput());
+        });
+        return violations;
+    }
+
+    void checkMin(List<String> violations, String endpoint, String objective, double actual) {
+        Double limit = limit(endpoint, objective);
+        if (limit != null && actual < limit) {
+            violations.add(String.format("%s %s: %.2f < %.2f", endpoint, objective, actual, limit));
+        }
+    }
+
+    private void checkMax(List<String> violations, String endpoint, String objective, double actual) {
+        Double limit = limit(endpoint, objective);
+        if (limit != null && actual > limit) {
+            violations.add(String.format("%s %s: %.3f > %.3f", endpoint, objective, actual, limit));
+        }
+    }
+
+    private Double limit(String endpoint, String objective) {
+        String value = properties.getProperty("slo." + endpoint + "." + objective,
+                properties.getProperty("slo.default." + objective));
+        return value == null ? null : Double.valueOf(value);
+    }
+}
@@ -0,0 +1,151 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Authenticate + authenticated GET mix, run once per thread mode:
+//   ./gradlew loadTest                   (platform threads)
+//   ./gradlew loadTest -PvirtualThreads  (virtual threads, JDK 21)
+// Each run writes build/reports/load/thread-mode-<mode>.txt, the second one also thread-mode-comparison.txt
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ThreadModeLoadTest {
+    private static final int USERS = 200;
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 128);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    // One login for every LOGIN_RATIO requests
+    private static final int LOGIN_RATIO = 10;
+    private static final String PASSWORD = "load-test-password";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void authenticateAndReadMix() throws Exception {
+        List<User> users = seedUsers();
+        List<String> tokens = users.stream()
+                .map(user -> jwtUtil.generateToken(user.getEmail(), user.getId()))
+                .toList();
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try (LoadClient client = new LoadClient(port, CLIENTS, recorder)) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        int index = random.nextInt(users.size());
+                        if (random.nextInt(LOGIN_RATIO) == 0) {
+                            String body = "{\"email\":\"" + users.get(index).getEmail() + "\",\"password\":\"" + PASSWORD + "\"}";
+                            client.postJson("POST /api/user/authenticate", "/api/user/authenticate", body, null);
+                        } else {
+                            client.get("GET /api/user/me", "/api/user/me", tokens.get(index));
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(DURATION_SECONDS + 60L, TimeUnit.SECONDS));
+        } finally {
+            clients.shutdownNow();
+        }
+
+        writeReport(recorder);
+    }
+
+    private List<User> seedUsers() {
+        List<User> users = new ArrayList<>();
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("load-" + i + "@example.com");
+            user.setPassword(hash);
+            user.setActive(true);
+            users.add(user);
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private void writeReport(LatencyRecorder recorder) throws IOException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        StringBuilder report = new StringBuilder()
+                .append("mode=").append(mode)
+                .append(" java=").append(Runtime.version())
+                .append(" clients=").append(CLIENTS)
+                .append(" duration=").append(DURATION_SECONDS).append("s\n");
+        recorder.summarize(DURATION_SECONDS)
+                .forEach((endpoint, summary) -> report.append(endpoint).append(": ").append(summary).append('\n'));
+
+        LoadReports.publish("thread-mode-" + mode + ".txt", report.toString(), "Thread mode load test (" + mode + " threads) finished");
+        writeComparison(LoadReports.directory());
+    }
+
+    // Once both modes have run, puts their lines for each endpoint next to each other
+    private void writeComparison(Path dir) throws IOException {
+        Path platform = dir.resolve("thread-mode-platform.txt");
+        Path virtual = dir.resolve("thread-mode-virtual.txt");
+        if (!Files.exists(platform) || !Files.exists(virtual)) return;
+
+        Map<String, String> platformLines = endpointLines(platform);
+        Map<String, String> virtualLines = endpointLines(virtual);
+        StringBuilder comparison = new StringBuilder()
+                .append("platform: ").append(Files.readAllLines(platform).get(0)).append('\n')
+                .append("virtual:  ").append(Files.readAllLines(virtual).get(0)).append('\n');
+        Set<String> endpoints = new TreeSet<>(platformLines.keySet());
+        endpoints.addAll(virtualLines.keySet());
+        for (String endpoint : endpoints) {
+            comparison.append(endpoint).append('\n')
+                    .append("  platform: ").append(platformLines.getOrDefault(endpoint, "-")).append('\n')
+                    .append("  virtual:  ").append(virtualLines.getOrDefault(endpoint, "-")).append('\n');
+        }
+        LoadReports.write("thread-mode-comparison.txt", comparison.toString());
+    }
+
+    // Endpoint -> summary of one report, skipping its header line
+    private static Map<String, String> endpointLines(Path report) throws IOException {
+        List<String> all = Files.readAllLines(report);
+        Map<String, String> lines = new LinkedHashMap<>();
+        for (String line : all.subList(1, all.size())) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) lines.put(line.substring(0, separator), line.substring(separator + 2));
+        }
+        return lines;
+    }
+}
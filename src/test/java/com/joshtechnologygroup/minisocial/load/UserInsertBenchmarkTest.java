@@ -0,0 +1,127 @@
+package com.joshtechnologygroup.minisocial.load;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Rows/s persisting users with their three @MapsId detail rows through JPA. The unbatched pass sends one
+// statement per row, which is what IDENTITY ids forced; the batched pass uses hibernate.jdbc.batch_size.
+// Report: build/reports/load/user-insert.txt
+@Tag("load")
+@SpringBootTest
+class UserInsertBenchmarkTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final int USERS_PER_TRANSACTION = 500;
+    private static final int ROWS_PER_USER = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batchedInsertsNeedFewerStatements() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // Warms up Hibernate and the connection pool so neither pass pays for it
+        run("warm-up", 1, USERS_PER_TRANSACTION, statistics);
+        Pass unbatched = run("unbatched", 1, USERS, statistics);
+        Pass batched = run("batched", null, USERS, statistics);
+
+        String report = "users=" + USERS + " rows=" + USERS * ROWS_PER_USER + "\n" + unbatched + "\n" + batched + "\n"
+                + String.format("speedup: %.2fx%n", batched.rowsPerSecond() / unbatched.rowsPerSecond());
+        LoadReports.publish("user-insert.txt", report, String.format("User insert benchmark: batched %.2fx the rows/s of unbatched",
+                batched.rowsPerSecond() / unbatched.rowsPerSecond()));
+
+        assertTrue(batched.statements() * 10 < unbatched.statements(), report);
+    }
+
+    // A null batchSize keeps the configured hibernate.jdbc.batch_size
+    private Pass run(String name, Integer batchSize, int users, Statistics statistics) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int from = 0; from < users; from += USERS_PER_TRANSACTION) {
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (int i = first; i < Math.min(users, first + USERS_PER_TRANSACTION); i++) {
+                    persistUser(name + "-" + i + "@insert.example");
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return new Pass(name, users * ROWS_PER_USER, statistics.getPrepareStatementCount(), System.nanoTime() - start);
+    }
+
+    private void persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        entityManager.persist(user);
+
+        UserDetail detail = new UserDetail();
+        detail.setUser(user);
+        detail.setFirstName("Ada");
+        detail.setLastName("Lovelace");
+        detail.setAge(36);
+        detail.setGender(Gender.FEMALE);
+        detail.setMaritalStatus(MaritalStatus.MARRIED);
+        entityManager.persist(detail);
+
+        ResidentialDetail residential = new ResidentialDetail();
+        residential.setUser(user);
+        residential.setAddress("1 Main Street");
+        residential.setCity("Pune");
+        residential.setState("MH");
+        residential.setCountry("India");
+        residential.setContactNo1("9999999999");
+        entityManager.persist(residential);
+
+        OfficialDetail official = new OfficialDetail();
+        official.setUser(user);
+        official.setEmployeeCode("E-1");
+        official.setAddress("2 Office Road");
+        official.setCity("Pune");
+        official.setState("MH");
+        official.setCountry("India");
+        official.setCompanyContactNo("8888888888");
+        official.setCompanyContactEmail("hr@acme.example");
+        official.setCompanyName("Acme");
+        entityManager.persist(official);
+    }
+
+    private record Pass(String name, int rows, long statements, long nanos) {
+        double rowsPerSecond() {
+            return rows * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-9s statements=%d rows/s=%.0f", name, statements, rowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.joshtechnologygroup.minisocial.repository.MailQueueJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private MailQueueJdbcRepository mailQueueRepository;
+
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) dispatcher.shutdown();
+    }
+
+    @Test
+    void sendsBatchAndMarksSent() throws Exception {
+        dispatcher = dispatcher(greenMail.getSmtp().getPort());
+
+        dispatcher.send(List.of(welcome(1, "a@abc.com"), welcome(2, "b@abc.com")));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Welcome to Mini Social", received[0].getSubject());
+        verify(mailQueueRepository).markSent(List.of(1L, 2L));
+        verify(mailQueueRepository, never()).scheduleRetry(anyLong(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void unrenderableMailFailsWithoutRetry() {
+        dispatcher = dispatcher(greenMail.getSmtp().getPort());
+
+        dispatcher.send(List.of(new QueuedMail(1, "key-1", "a@abc.com", "no-such-template", "{}", 0)));
+
+        assertEquals(0, greenMail.getReceivedMessages().length);
+        verify(mailQueueRepository).markFailed(eq(1L), eq(1), anyString());
+        verify(mailQueueRepository, never()).markSent(any());
+    }
+
+    @Test
+    void unreachableServerIsRetriedWithBackoff() {
+        // Nothing listens on port 1
+        dispatcher = dispatcher(1);
+
+        dispatcher.send(List.of(welcome(1, "a@abc.com")));
+
+        verify(mailQueueRepository).scheduleRetry(eq(1L), eq(1), eq(30_000L), anyString());
+        verify(mailQueueRepository, never()).markSent(any());
+    }
+
+    private MailDispatcher dispatcher(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return new MailDispatcher(mailQueueRepository, mailSender, new MailTemplates(), JsonMapper.builder().build(),
+                new ApiConfig(), new SimpleMeterRegistry());
+    }
+
+    private static QueuedMail welcome(long id, String email) {
+        return new QueuedMail(id, "welcome:" + email, email, "welcome", "{\"email\":\"" + email + "\"}", 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.joshtechnologygroup.minisocial.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailTemplatesTest {
+    private final MailTemplates mailTemplates = new MailTemplates();
+
+    @Test
+    void rendersSubjectAndBody() {
+        MailTemplates.RenderedMail mail = mailTemplates.render("welcome", Map.of("email", "test@abc.com"));
+
+        assertEquals("Welcome to Mini Social", mail.subject());
+        assertTrue(mail.body().contains("with the email address test@abc.com."));
+        assertFalse(mail.body().contains("{{"));
+    }
+
+    @Test
+    void parsesPlaceholdersInSubject() {
+        MailTemplates.Template template = MailTemplates.parse("Subject: Hi {{ name }}\n\nBye {{name}}!");
+
+        assertEquals("Hi Ann", template.subject().render(Map.of("name", "Ann")));
+        assertEquals("Bye Ann!", template.body().render(Map.of("name", "Ann")));
+    }
+
+    @Test
+    void missingVariableOrTemplateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> mailTemplates.render("welcome", Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> mailTemplates.render("no-such-template", Map.of()));
+    }
+}
@@ -0,0 +1,138 @@
+package com.joshtechnologygroup.minisocial.outbox;
+
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
+import com.joshtechnologygroup.minisocial.repository.OutboxJdbcRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+    private static final String CLAIM = "claim-1";
+
+    @Mock
+    private OutboxJdbcRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ObjectProvider<OutboxSubscriber<?>> subscribers;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        when(subscribers.orderedStream()).thenReturn(Stream.of(subscriber));
+        dispatcher = new OutboxDispatcher(outboxRepository, new TransactionTemplate(transactionManager), objectMapper,
+                subscribers, new ApiConfig(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void skipsAlreadyDeliveredKeys() {
+        when(outboxRepository.findDelivered(eq("recording"), anyList())).thenReturn(Set.of("key-1"));
+
+        dispatcher.dispatch(CLAIM, List.of(record(1, "key-1", 0), record(2, "key-2", 0)));
+
+        assertEquals(List.of("key-2"), subscriber.keys);
+        verify(outboxRepository).recordDeliveries("recording", List.of("key-2"));
+        verify(outboxRepository).markProcessed(CLAIM, List.of(1L, 2L));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoff() {
+        subscriber.failing.add("key-1");
+
+        dispatcher.dispatch(CLAIM, List.of(record(1, "key-1", 2)));
+
+        verify(outboxRepository).scheduleRetry(eq(CLAIM), eq(1L), eq(3), eq(4_000L), anyString());
+        verify(outboxRepository, never()).markProcessed(any(), any());
+        verify(outboxRepository, never()).recordDeliveries(any(), any());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        subscriber.failing.add("key-1");
+
+        dispatcher.dispatch(CLAIM, List.of(record(1, "key-1", 9)));
+
+        verify(outboxRepository).markFailed(eq(CLAIM), eq(1L), eq(10), anyString());
+        verify(outboxRepository, never()).scheduleRetry(any(), anyLong(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void failingEventDoesNotHoldBackTheRestOfItsBatch() {
+        subscriber.failing.add("key-2");
+
+        dispatcher.dispatch(CLAIM, List.of(record(1, "key-1", 0), record(2, "key-2", 0), record(3, "key-3", 0)));
+
+        assertEquals(List.of("key-1", "key-3"), subscriber.keys);
+        verify(outboxRepository).recordDeliveries("recording", List.of("key-1"));
+        verify(outboxRepository).recordDeliveries("recording", List.of("key-3"));
+        verify(outboxRepository).markProcessed(CLAIM, List.of(1L, 3L));
+        verify(outboxRepository).scheduleRetry(eq(CLAIM), eq(2L), eq(1), eq(1_000L), anyString());
+    }
+
+    @Test
+    void unreadablePayloadOnlyFailsItsOwnEvent() {
+        OutboxRecord broken = new OutboxRecord(2, "key-2", "PasswordChangedEvent", "not json", 0);
+
+        dispatcher.dispatch(CLAIM, List.of(record(1, "key-1", 0), broken));
+
+        assertEquals(List.of("key-1"), subscriber.keys);
+        verify(outboxRepository).markProcessed(CLAIM, List.of(1L));
+        verify(outboxRepository).scheduleRetry(eq(CLAIM), eq(2L), eq(1), eq(1_000L), anyString());
+    }
+
+    private OutboxRecord record(long id, String key, int attempts) {
+        PasswordChangedEvent event = new PasswordChangedEvent(id, "user" + id + "@abc.com", Instant.now());
+        return new OutboxRecord(id, key, "PasswordChangedEvent", objectMapper.writeValueAsString(event), attempts);
+    }
+
+    private static class RecordingSubscriber implements OutboxSubscriber<PasswordChangedEvent> {
+        private final List<String> keys = new ArrayList<>();
+        private final Set<String> failing = new HashSet<>();
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public Class<PasswordChangedEvent> eventType() {
+            return PasswordChangedEvent.class;
+        }
+
+        @Override
+        public void handle(List<OutboxMessage<PasswordChangedEvent>> messages) {
+            if (messages.stream().anyMatch(message -> failing.contains(message.key()))) throw new IllegalStateException("boom");
+            messages.forEach(message -> keys.add(message.key()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.joshtechnologygroup.minisocial.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+    private static final RateLimit FIVE_PER_MINUTE = new RateLimit(5, Duration.ofMinutes(1));
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final LocalRateLimiter limiter = new LocalRateLimiter(1_000, now::get);
+
+    @Test
+    void fullBucketAllowsBurstOfCapacity() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:a", FIVE_PER_MINUTE));
+        }
+        long wait = limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+        assertEquals(TimeUnit.SECONDS.toNanos(12), wait);
+    }
+
+    @Test
+    void tokensComeBackOverTime() {
+        for (int i = 0; i < 5; i++) limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        assertEquals(0, limiter.tryAcquire("ip:a", FIVE_PER_MINUTE));
+        assertTrue(limiter.tryAcquire("ip:a", FIVE_PER_MINUTE) > 0);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotUseTokens() {
+        for (int i = 0; i < 5; i++) limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+        for (int i = 0; i < 100; i++) limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(12));
+        assertEquals(0, limiter.tryAcquire("ip:a", FIVE_PER_MINUTE));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 5; i++) limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+
+        assertTrue(limiter.tryAcquire("ip:a", FIVE_PER_MINUTE) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:b", FIVE_PER_MINUTE));
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        limiter.tryAcquire("ip:a", FIVE_PER_MINUTE);
+        assertEquals(1, limiter.size());
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1) + 1);
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws Exception {
+        RateLimit limit = new RateLimit(100, Duration.ofHours(1));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("email:a@example.com", limit) == 0) allowed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(100, allowed.get());
+    }
+}
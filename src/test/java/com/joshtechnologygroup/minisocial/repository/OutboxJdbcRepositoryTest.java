@@ -0,0 +1,102 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.outbox.OutboxRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Due rows of other tests may be claimed as well, so assertions only look at the events inserted here
+@SpringBootTest
+@Transactional
+class OutboxJdbcRepositoryTest {
+    private static final int LIMIT = 10_000;
+
+    @Autowired
+    private OutboxJdbcRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String first;
+    private String second;
+
+    @BeforeEach
+    void setUp() {
+        first = UUID.randomUUID().toString();
+        second = UUID.randomUUID().toString();
+        outboxRepository.insert(first, "PasswordChangedEvent", "{}");
+        outboxRepository.insert(second, "PasswordChangedEvent", "{}");
+    }
+
+    @Test
+    void claimedEventsAreNotClaimedAgain() {
+        assertEquals(List.of(first, second), ours(outboxRepository.claimDue("claim-a", LIMIT)));
+        assertEquals(List.of(), ours(outboxRepository.claimDue("claim-b", LIMIT)));
+    }
+
+    @Test
+    void updatesOfAnotherClaimAreIgnored() {
+        outboxRepository.claimDue("claim-a", LIMIT);
+
+        outboxRepository.markFailed("claim-b", id(first), 1, "lost the claim");
+        outboxRepository.markProcessed("claim-b", List.of(id(second)));
+
+        assertEquals("CLAIMED", status(first));
+        assertEquals("CLAIMED", status(second));
+    }
+
+    @Test
+    void processedEventIsNotFailedAfterwards() {
+        outboxRepository.claimDue("claim-a", LIMIT);
+        outboxRepository.markProcessed("claim-a", List.of(id(first)));
+
+        outboxRepository.markFailed("claim-a", id(first), 10, "late failure");
+        outboxRepository.scheduleRetry("claim-a", id(first), 1, 1_000, "late failure");
+
+        assertEquals("PROCESSED", status(first));
+    }
+
+    @Test
+    void retryReleasesTheClaimUntilDue() {
+        outboxRepository.claimDue("claim-a", LIMIT);
+
+        outboxRepository.scheduleRetry("claim-a", id(first), 1, 60_000, "boom");
+
+        assertEquals("PENDING", status(first));
+        assertEquals(List.of(), ours(outboxRepository.claimDue("claim-b", LIMIT)));
+    }
+
+    @Test
+    void staleClaimsAreReleased() {
+        outboxRepository.claimDue("claim-a", LIMIT);
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_at = TIMESTAMPADD(HOUR, -1, claimed_at) WHERE event_key = ?", first);
+
+        outboxRepository.releaseStaleClaims(600);
+
+        assertEquals(List.of(first), ours(outboxRepository.claimDue("claim-b", LIMIT)));
+        assertEquals("CLAIMED", status(second));
+    }
+
+    private List<String> ours(List<OutboxRecord> claimed) {
+        return claimed.stream()
+                .map(OutboxRecord::eventKey)
+                .filter(key -> key.equals(first) || key.equals(second))
+                .toList();
+    }
+
+    private long id(String eventKey) {
+        return jdbcTemplate.queryForObject("SELECT id FROM outbox_events WHERE event_key = ?", Long.class, eventKey);
+    }
+
+    private String status(String eventKey) {
+        return jdbcTemplate.queryForObject("SELECT status FROM outbox_events WHERE event_key = ?", String.class, eventKey);
+    }
+}
@@ -0,0 +1,131 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.tools.ExportFilter;
+import com.joshtechnologygroup.minisocial.tools.UserRecord;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cities and companies are unique to this test, so rows of other tests never match the filters
+@SpringBootTest
+@Transactional
+class UserExportJdbcRepositoryTest {
+    private static final String CITY = "Exportville";
+    private static final String OTHER_CITY = "Exportburg";
+    private static final String COMPANY = "Export Works";
+
+    @Autowired
+    private UserExportJdbcRepository exportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        user("young@export.example", 20, CITY, COMPANY);
+        user("middle@export.example", 35, CITY, null);
+        user("old@export.example", 60, OTHER_CITY, COMPANY);
+        entityManager.flush();
+    }
+
+    @Test
+    void cityFilter() {
+        assertEquals(Set.of("young@export.example", "middle@export.example"), emails(new ExportFilter(null, null, CITY, null)));
+    }
+
+    @Test
+    void ageRangeCombinedWithCity() {
+        assertEquals(Set.of("middle@export.example"), emails(new ExportFilter(30, 40, CITY, null)));
+        assertEquals(Set.of("young@export.example"), emails(new ExportFilter(null, 20, CITY, null)));
+    }
+
+    @Test
+    void companyFilterSkipsUsersWithoutOfficialDetails() {
+        assertEquals(Set.of("young@export.example", "old@export.example"), emails(new ExportFilter(null, null, null, COMPANY)));
+        assertEquals(Set.of("old@export.example"), emails(new ExportFilter(50, null, null, COMPANY)));
+    }
+
+    @Test
+    void passwordHashOnlyWhenRequested() {
+        ExportFilter filter = new ExportFilter(null, null, OTHER_CITY, null);
+
+        assertNull(stream(filter, false).get(0).passwordHash());
+        assertEquals("{noop}unused", stream(filter, true).get(0).passwordHash());
+    }
+
+    @Test
+    void joinsAllDetailTables() {
+        UserRecord record = stream(new ExportFilter(null, null, OTHER_CITY, null), false).get(0);
+
+        assertEquals("old@export.example", record.email());
+        assertEquals(60, record.age());
+        assertEquals(Gender.FEMALE, record.gender());
+        assertEquals(OTHER_CITY, record.residentialCity());
+        assertEquals(COMPANY, record.companyName());
+        assertTrue(record.hasUserDetail() && record.hasResidentialDetail() && record.hasOfficialDetail());
+    }
+
+    private Set<String> emails(ExportFilter filter) {
+        return stream(filter, false).stream().map(UserRecord::email).collect(Collectors.toSet());
+    }
+
+    private List<UserRecord> stream(ExportFilter filter, boolean includePasswordHash) {
+        List<UserRecord> records = new ArrayList<>();
+        exportRepository.stream(filter, includePasswordHash, records::add);
+        return records;
+    }
+
+    private void user(String email, int age, String city, String company) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        entityManager.persist(user);
+
+        UserDetail detail = new UserDetail();
+        detail.setUser(user);
+        detail.setFirstName("Test");
+        detail.setAge(age);
+        detail.setGender(Gender.FEMALE);
+        detail.setMaritalStatus(MaritalStatus.SINGLE);
+        entityManager.persist(detail);
+
+        ResidentialDetail residential = new ResidentialDetail();
+        residential.setUser(user);
+        residential.setAddress("1 Main Street");
+        residential.setCity(city);
+        residential.setState("MH");
+        residential.setCountry("India");
+        residential.setContactNo1("9999999999");
+        entityManager.persist(residential);
+
+        if (company == null) return;
+        OfficialDetail official = new OfficialDetail();
+        official.setUser(user);
+        official.setEmployeeCode("E-1");
+        official.setAddress("2 Office Road");
+        official.setCity(city);
+        official.setState("MH");
+        official.setCountry("India");
+        official.setCompanyContactNo("8888888888");
+        official.setCompanyContactEmail("hr@export.example");
+        official.setCompanyName(company);
+        entityManager.persist(official);
+    }
+}
@@ -0,0 +1,155 @@
+package com.joshtechnologygroup.minisocial.repository;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.dto.UserSearchCriteria;
+import com.joshtechnologygroup.minisocial.dto.UserSearchResult;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every search filters on a city or company unique to this test, so rows of other tests never match
+@SpringBootTest
+@Transactional
+class UserSearchJdbcRepositoryTest {
+    private static final String CITY = "Searchville";
+    private static final String OTHER_CITY = "Searchburg";
+    private static final String COMPANY = "Search Works";
+
+    @Autowired
+    private UserSearchJdbcRepository searchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long young;
+    private long middle;
+    private long old;
+    private long elsewhere;
+
+    @BeforeEach
+    void setUp() {
+        young = user("Young", 22, MaritalStatus.SINGLE, CITY, COMPANY, OTHER_CITY);
+        middle = user("Middle", 35, MaritalStatus.MARRIED, CITY, null, null);
+        old = user("Old", 61, MaritalStatus.MARRIED, CITY, COMPANY, CITY);
+        elsewhere = user("Elsewhere", 35, MaritalStatus.MARRIED, OTHER_CITY, COMPANY, CITY);
+        entityManager.flush();
+    }
+
+    @Test
+    void cityOnly() {
+        assertEquals(List.of(young, middle, old), ids(criteria(null, null, null, CITY, null, null)));
+    }
+
+    @Test
+    void maritalStatusWithAgeRange() {
+        assertEquals(List.of(middle, old), ids(criteria(null, null, MaritalStatus.MARRIED, CITY, null, null)));
+        assertEquals(List.of(middle), ids(criteria(30, 40, MaritalStatus.MARRIED, CITY, null, null)));
+        assertEquals(List.of(young, middle), ids(criteria(null, 35, null, CITY, null, null)));
+        assertEquals(List.of(old), ids(criteria(36, null, null, CITY, null, null)));
+    }
+
+    @Test
+    void companyWithAndWithoutOfficeCity() {
+        assertEquals(List.of(young, old, elsewhere), ids(criteria(null, null, null, null, null, COMPANY)));
+        assertEquals(List.of(old, elsewhere), ids(criteria(null, null, null, null, CITY, COMPANY)));
+        assertEquals(List.of(old), ids(criteria(null, null, null, CITY, CITY, COMPANY)));
+    }
+
+    @Test
+    void usersWithoutOfficialDetailsAreReturnedUnlessFilteredOn() {
+        UserSearchResult result = searchRepository.search(criteria(30, 40, null, CITY, null, null), 0, 10).get(0);
+
+        assertEquals(middle, result.id());
+        assertEquals("Middle", result.firstName());
+        assertEquals(CITY, result.city());
+        assertNull(result.companyName());
+    }
+
+    @Test
+    void keysetPagesFollowUserIds() {
+        UserSearchCriteria criteria = criteria(null, null, null, CITY, null, null);
+
+        List<Long> first = ids(searchRepository.search(criteria, 0, 2));
+        List<Long> second = ids(searchRepository.search(criteria, first.get(first.size() - 1), 2));
+        List<Long> third = ids(searchRepository.search(criteria, second.get(second.size() - 1), 2));
+
+        assertEquals(List.of(young, middle), first);
+        assertEquals(List.of(old), second);
+        assertEquals(List.of(), third);
+    }
+
+    @Test
+    void keysetPagesWithAgeRange() {
+        UserSearchCriteria criteria = criteria(20, 70, MaritalStatus.MARRIED, null, null, COMPANY);
+
+        List<Long> first = ids(searchRepository.search(criteria, 0, 1));
+        List<Long> second = ids(searchRepository.search(criteria, first.get(first.size() - 1), 1));
+
+        assertEquals(List.of(old), first);
+        assertEquals(List.of(elsewhere), second);
+    }
+
+    private static UserSearchCriteria criteria(Integer minAge, Integer maxAge, MaritalStatus status, String city, String officialCity, String company) {
+        return new UserSearchCriteria(minAge, maxAge, status, city, officialCity, company);
+    }
+
+    private List<Long> ids(UserSearchCriteria criteria) {
+        return ids(searchRepository.search(criteria, 0, 100));
+    }
+
+    private static List<Long> ids(List<UserSearchResult> results) {
+        return results.stream().map(UserSearchResult::id).toList();
+    }
+
+    private long user(String firstName, int age, MaritalStatus status, String city, String company, String officialCity) {
+        User user = new User();
+        user.setEmail(firstName.toLowerCase() + "@search.example");
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        entityManager.persist(user);
+
+        UserDetail detail = new UserDetail();
+        detail.setUser(user);
+        detail.setFirstName(firstName);
+        detail.setAge(age);
+        detail.setGender(Gender.MALE);
+        detail.setMaritalStatus(status);
+        entityManager.persist(detail);
+
+        ResidentialDetail residential = new ResidentialDetail();
+        residential.setUser(user);
+        residential.setAddress("1 Main Street");
+        residential.setCity(city);
+        residential.setState("MH");
+        residential.setCountry("India");
+        residential.setContactNo1("9999999999");
+        entityManager.persist(residential);
+
+        if (company != null) {
+            OfficialDetail official = new OfficialDetail();
+            official.setUser(user);
+            official.setEmployeeCode("E-1");
+            official.setAddress("2 Office Road");
+            official.setCity(officialCity);
+            official.setState("MH");
+            official.setCountry("India");
+            official.setCompanyContactNo("8888888888");
+            official.setCompanyContactEmail("hr@search.example");
+            official.setCompanyName(company);
+            entityManager.persist(official);
+        }
+        return user.getId();
+    }
+}
@@ -0,0 +1,40 @@
+package com.joshtechnologygroup.minisocial.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixIndexTest {
+    private final PrefixIndex index = PrefixIndex.builder()
+            .add("devesh", "Devesh", 1)
+            .add("deepak", "Deepak", 2)
+            .add("dev", "Dev", 3)
+            .add("anil", "Anil", 4)
+            .add("devesh sharma", "Devesh", 1)
+            .build();
+
+    private List<TypeaheadMatch> search(String prefix, int k) {
+        List<TypeaheadMatch> out = new ArrayList<>();
+        index.search(PrefixIndex.normalize(prefix), k, id -> false, new HashSet<>(), out);
+        return out;
+    }
+
+    @Test
+    void returnsMatchesInKeyOrderOncePerUser() {
+        assertEquals(List.of(new TypeaheadMatch(3, "Dev"), new TypeaheadMatch(1, "Devesh")), search("DEV", 10));
+    }
+
+    @Test
+    void limitsToK() {
+        assertEquals(1, search("de", 1).size());
+    }
+
+    @Test
+    void noMatch() {
+        assertEquals(List.of(), search("zz", 10));
+    }
+}
@@ -0,0 +1,38 @@
+package com.joshtechnologygroup.minisocial.search;
+
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Only the overlay: the snapshot stays empty because nothing is rebuilt
+class TypeaheadIndexTest {
+    private final TypeaheadIndex index = new TypeaheadIndex(null, new ApiConfig(), new SimpleMeterRegistry());
+
+    @Test
+    void overlayMatchesByPrefixInKeyOrder() {
+        index.updateName(1, "Devesh", "Sharma");
+        index.updateName(2, "Anil", "Dev");
+        index.updateName(3, "Deepak", null);
+
+        assertEquals(List.of(new TypeaheadMatch(3, "Deepak"), new TypeaheadMatch(2, "Anil Dev"), new TypeaheadMatch(1, "Devesh Sharma")),
+                index.search(TypeaheadField.NAME, "DE", 10));
+        assertEquals(List.of(new TypeaheadMatch(1, "Devesh Sharma")), index.search(TypeaheadField.NAME, "devesh s", 10));
+        assertEquals(1, index.search(TypeaheadField.NAME, "de", 1).size());
+    }
+
+    @Test
+    void updatedAndRemovedEntriesStopMatchingTheirOldKeys() {
+        index.updateName(1, "Devesh", null);
+        index.updateName(1, "Anil", null);
+        index.updateCompany(2, "Acme");
+        index.remove(TypeaheadField.COMPANY, 2);
+
+        assertEquals(List.of(), index.search(TypeaheadField.NAME, "dev", 10));
+        assertEquals(List.of(new TypeaheadMatch(1, "Anil")), index.search(TypeaheadField.NAME, "an", 10));
+        assertEquals(List.of(), index.search(TypeaheadField.COMPANY, "ac", 10));
+    }
+}
@@ -0,0 +1,132 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.dto.CursorPage;
+import com.joshtechnologygroup.minisocial.dto.PostView;
+import com.joshtechnologygroup.minisocial.repository.FeedJdbcRepository;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Timelines hold 3 posts, so paging a longer feed runs past the end of the buffer into the database
+@SpringBootTest(properties = "api.service.feed-timeline-capacity=3")
+@Transactional
+class FeedServiceTest {
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private long viewer;
+    private long alice;
+    private long bob;
+
+    @BeforeEach
+    void setUp() {
+        viewer = user("feed-viewer@example.com");
+        alice = user("feed-alice@example.com");
+        bob = user("feed-bob@example.com");
+        followService.followAll(viewer, List.of(alice, bob));
+    }
+
+    @Test
+    void mergeKeepsNewestFirstAndDropsDuplicates() {
+        assertEquals(List.of(9L, 7L, 5L, 4L, 2L), FeedService.merge(List.of(9L, 5L, 4L, 2L), List.of(7L, 5L, 2L), 10));
+        assertEquals(List.of(9L, 7L, 5L), FeedService.merge(List.of(9L, 5L, 4L, 2L), List.of(7L, 5L, 2L), 3));
+    }
+
+    @Test
+    void mergeWithOneEmptyList() {
+        assertEquals(List.of(3L, 2L), FeedService.merge(List.of(), List.of(3L, 2L, 1L), 2));
+        assertEquals(List.of(3L, 2L, 1L), FeedService.merge(List.of(3L, 2L, 1L), List.of(), 5));
+        assertEquals(List.of(), FeedService.merge(List.of(), List.of(), 5));
+    }
+
+    @Test
+    void pagingPastTruncatedTimelineReadsTheDatabase() {
+        List<Long> posts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            posts.add(0, feedService.createPost(i % 2 == 0 ? alice : bob, "post " + i).id());
+        }
+
+        // The timeline is seeded with the 3 newest posts
+        CursorPage<PostView> first = feedService.getFeed(viewer, Long.MAX_VALUE, 2);
+        CursorPage<PostView> second = feedService.getFeed(viewer, first.nextCursor(), 2);
+        CursorPage<PostView> third = feedService.getFeed(viewer, second.nextCursor(), 2);
+
+        assertEquals(posts.subList(0, 2), ids(first));
+        assertEquals(posts.subList(2, 4), ids(second));
+        assertEquals(posts.subList(4, 6), ids(third));
+        assertNull(third.nextCursor());
+    }
+
+    @Test
+    void pulledPostsAreMergedIntoPushedOnes() {
+        long older = feedService.createPost(alice, "pushed").id();
+        long celebrity = feedService.createPost(bob, "pulled").id();
+        long newer = feedService.createPost(alice, "pushed again").id();
+        jdbcTemplate.update("UPDATE posts SET fanned_out = FALSE WHERE id = ?", celebrity);
+        userRepository.markHasPulledPosts(bob);
+
+        CursorPage<PostView> feed = feedService.getFeed(viewer, Long.MAX_VALUE, 10);
+
+        assertEquals(List.of(newer, celebrity, older), ids(feed));
+    }
+
+    @Test
+    void pullReadsOnlyTheFollowingListWithoutCelebrities() {
+        feedService.createPost(alice, "pushed");
+        feedService.createPost(bob, "pushed too");
+        List<String> statements = new ArrayList<>();
+        FeedJdbcRepository repository = new FeedJdbcRepository(new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+                statements.add(sql);
+                return super.queryForList(sql, elementType, args);
+            }
+        });
+
+        assertEquals(List.of(), repository.findFeedIds(viewer, false, Long.MAX_VALUE, 10));
+        assertEquals(1, statements.size());
+
+        long celebrity = feedService.createPost(bob, "pulled").id();
+        jdbcTemplate.update("UPDATE posts SET fanned_out = FALSE WHERE id = ?", celebrity);
+        userRepository.markHasPulledPosts(bob);
+        statements.clear();
+
+        assertEquals(List.of(celebrity), repository.findFeedIds(viewer, false, Long.MAX_VALUE, 10));
+        assertEquals(2, statements.size());
+    }
+
+    private static List<Long> ids(CursorPage<PostView> page) {
+        return page.items().stream().map(PostView::id).toList();
+    }
+
+    private long user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user).getId();
+    }
+}
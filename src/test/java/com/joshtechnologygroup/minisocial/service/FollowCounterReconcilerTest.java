@@ -0,0 +1,57 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Small batches so the drifted rows fall into different id ranges
+@SpringBootTest(properties = "api.service.follow-counter-reconcile-batch-size=2")
+@Transactional
+class FollowCounterReconcilerTest {
+    @Autowired
+    private FollowCounterReconciler reconciler;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void driftedCountersAreRewrittenAndReported() {
+        long alice = user("reconcile-alice@example.com");
+        long bob = user("reconcile-bob@example.com");
+        long carol = user("reconcile-carol@example.com");
+        followService.follow(alice, bob);
+        followService.follow(carol, bob);
+        // Start from a consistent table, whatever other data is in it
+        reconciler.reconcile();
+
+        jdbcTemplate.update("UPDATE users SET follower_count = 7 WHERE id = ?", bob);
+        jdbcTemplate.update("UPDATE users SET following_count = 0 WHERE id = ?", carol);
+
+        FollowCounterReconciler.Report report = reconciler.reconcile();
+
+        assertEquals(2, report.corrected());
+        assertEquals(2, followService.getCounts(bob).followers());
+        assertEquals(1, followService.getCounts(carol).following());
+        assertEquals(0, reconciler.reconcile().corrected());
+    }
+
+    private long user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user).getId();
+    }
+}
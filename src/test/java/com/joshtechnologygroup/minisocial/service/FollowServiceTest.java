@@ -0,0 +1,125 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.dto.BulkFollowResult;
+import com.joshtechnologygroup.minisocial.dto.FollowCounts;
+import com.joshtechnologygroup.minisocial.exception.InvalidRequestException;
+import com.joshtechnologygroup.minisocial.exception.UserNotFoundException;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class FollowServiceTest {
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private long alice;
+    private long bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = user("follow-alice@example.com");
+        bob = user("follow-bob@example.com");
+    }
+
+    @Test
+    void followMovesBothCounters() {
+        assertTrue(followService.follow(alice, bob));
+
+        assertCounts(bob, 1, 0);
+        assertCounts(alice, 0, 1);
+    }
+
+    @Test
+    void repeatedFollowChangesNothing() {
+        followService.follow(alice, bob);
+
+        assertFalse(followService.follow(alice, bob));
+        assertCounts(bob, 1, 0);
+        assertCounts(alice, 0, 1);
+    }
+
+    @Test
+    void unfollowMovesCountersBack() {
+        followService.follow(alice, bob);
+
+        assertTrue(followService.unfollow(alice, bob));
+        assertFalse(followService.unfollow(alice, bob));
+        assertCounts(bob, 0, 0);
+        assertCounts(alice, 0, 0);
+    }
+
+    @Test
+    void followingUnknownUserIsNotFound() {
+        assertThrows(UserNotFoundException.class, () -> followService.follow(alice, Long.MAX_VALUE));
+        assertCounts(alice, 0, 0);
+    }
+
+    @Test
+    void followingYourselfIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> followService.follow(alice, alice));
+    }
+
+    @Test
+    void followAllSkipsSelfAndUnknownIdsAndCountsCreatedEdges() {
+        long carol = user("follow-carol@example.com");
+
+        BulkFollowResult result = followService.followAll(alice, List.of(bob, alice, Long.MAX_VALUE, carol, bob));
+
+        assertEquals(5, result.requested());
+        assertEquals(List.of(bob, carol), result.changed());
+        assertCounts(alice, 0, 2);
+        assertCounts(bob, 1, 0);
+        assertCounts(carol, 1, 0);
+    }
+
+    @Test
+    void followAllIsIdempotent() {
+        long carol = user("follow-carol@example.com");
+        followService.follow(alice, bob);
+
+        assertEquals(List.of(carol), followService.followAll(alice, List.of(bob, carol)).changed());
+        assertEquals(List.of(), followService.followAll(alice, List.of(bob, carol)).changed());
+        assertCounts(alice, 0, 2);
+        assertCounts(bob, 1, 0);
+        assertCounts(carol, 1, 0);
+    }
+
+    @Test
+    void unfollowAllOnlyRemovesExistingEdges() {
+        long carol = user("follow-carol@example.com");
+        followService.followAll(alice, List.of(bob, carol));
+
+        assertEquals(List.of(bob), followService.unfollowAll(alice, List.of(bob, Long.MAX_VALUE)).changed());
+        assertEquals(List.of(), followService.unfollowAll(alice, List.of(bob)).changed());
+        assertCounts(alice, 0, 1);
+        assertCounts(bob, 0, 0);
+        assertCounts(carol, 1, 0);
+    }
+
+    private void assertCounts(long userId, long followers, long following) {
+        FollowCounts counts = followService.getCounts(userId);
+        assertEquals(followers, counts.followers(), "followers of " + userId);
+        assertEquals(following, counts.following(), "following of " + userId);
+    }
+
+    private long user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user).getId();
+    }
+}
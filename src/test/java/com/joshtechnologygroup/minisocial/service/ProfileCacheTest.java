@@ -0,0 +1,130 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Second-level cache behaviour of profile reads. Not @Transactional: entries are only written
+// to READ_WRITE regions when a transaction commits.
+@SpringBootTest(properties = "api.service.second-level-cache-enabled=true")
+class ProfileCacheTest {
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long userId;
+    private Long otherId;
+
+    @BeforeEach
+    void setUp() {
+        userId = transactionTemplate.execute(status -> {
+            User user = user("cache-profile@example.com");
+            UserDetail detail = new UserDetail();
+            detail.setUser(user);
+            detail.setFirstName("Grace");
+            detail.setAge(40);
+            detail.setGender(Gender.FEMALE);
+            detail.setMaritalStatus(MaritalStatus.SINGLE);
+            entityManager.persist(detail);
+            ResidentialDetail residential = new ResidentialDetail();
+            residential.setUser(user);
+            residential.setAddress("1 Main Street");
+            residential.setCity("Pune");
+            residential.setState("MH");
+            residential.setCountry("India");
+            residential.setContactNo1("9999999999");
+            entityManager.persist(residential);
+            return user.getId();
+        });
+        otherId = transactionTemplate.execute(status -> user("cache-other@example.com").getId());
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(List.of(userId, otherId));
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    void warmProfileReadNeedsNoStatement() {
+        profileService.getProfile(userId);
+        statistics.clear();
+
+        assertEquals("Pune", profileService.getProfile(userId).residential().city());
+
+        // The missing official_details row is not cached and is looked up again
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void detailUpdateIsVisibleToCachedReads() {
+        profileService.getProfile(userId);
+
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.find(ResidentialDetail.class, userId).setCity("Mumbai"));
+
+        assertEquals("Mumbai", profileService.getProfile(userId).residential().city());
+    }
+
+    @Test
+    void followEvictsCachedCounters() {
+        assertEquals(0, profileService.getProfile(otherId).followerCount());
+
+        followService.follow(userId, otherId);
+
+        assertEquals(1, profileService.getProfile(otherId).followerCount());
+        assertEquals(1, profileService.getProfile(userId).followingCount());
+    }
+
+    @Test
+    void emailLookupIsServedByTheNaturalIdCache() {
+        userRepository.findByEmail("cache-profile@example.com");
+        statistics.clear();
+
+        assertEquals(userId, userRepository.findByEmail("cache-profile@example.com").orElseThrow().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,182 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.OfficialDetail;
+import com.joshtechnologygroup.minisocial.bean.ResidentialDetail;
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.bean.UserDetail;
+import com.joshtechnologygroup.minisocial.dto.UserProfile;
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import com.joshtechnologygroup.minisocial.exception.UserNotFoundException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Locks in the statement count of the joined profile query with Hibernate statistics,
+// the second-level cache path is covered by ProfileCacheTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "api.service.second-level-cache-enabled=false"
+})
+@Transactional
+class ProfileServiceTest {
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User full;
+    private User bare;
+
+    @BeforeEach
+    void setUp() {
+        full = user("profile-full@example.com");
+        bare = user("profile-bare@example.com");
+        details(full);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void profileIsReadWithOneStatement() {
+        UserProfile profile = profileService.getProfile(full.getId());
+
+        assertEquals("profile-full@example.com", profile.email());
+        assertEquals("Ada", profile.personal().firstName());
+        assertEquals(MaritalStatus.MARRIED, profile.personal().maritalStatus());
+        assertEquals("Pune", profile.residential().city());
+        assertEquals("Acme", profile.official().companyName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void missingSectionsAreNull() {
+        UserProfile profile = profileService.getProfile(bare.getId());
+
+        assertNull(profile.personal());
+        assertNull(profile.residential());
+        assertNull(profile.official());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchIsOneStatementInRequestOrder() {
+        List<UserProfile> profiles = profileService.getProfiles(List.of(bare.getId(), full.getId(), bare.getId(), -1L));
+
+        assertEquals(List.of(bare.getId(), full.getId()), profiles.stream().map(UserProfile::id).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void ownProfileIsComplete() {
+        UserProfile profile = profileService.viewProfile(full.getId(), full.getId());
+
+        assertEquals("profile-full@example.com", profile.email());
+        assertEquals(36, profile.personal().age());
+        assertEquals("Pune", profile.residential().city());
+        assertEquals("Acme", profile.official().companyName());
+    }
+
+    @Test
+    void otherUsersSeeNameAndCountsOnly() {
+        UserProfile profile = profileService.viewProfile(bare.getId(), full.getId());
+
+        assertEquals(full.getId(), profile.id());
+        assertEquals("Ada", profile.personal().firstName());
+        assertEquals("Lovelace", profile.personal().lastName());
+        assertNull(profile.email());
+        assertNull(profile.personal().age());
+        assertNull(profile.personal().gender());
+        assertNull(profile.residential());
+        assertNull(profile.official());
+    }
+
+    @Test
+    void batchOnlyShowsDetailsOfViewer() {
+        List<UserProfile> profiles = profileService.viewProfiles(bare.getId(), List.of(full.getId(), bare.getId()));
+
+        assertNull(profiles.get(0).email());
+        assertNull(profiles.get(0).residential());
+        assertEquals("profile-bare@example.com", profiles.get(1).email());
+    }
+
+    @Test
+    void unknownUserIsNotFound() {
+        assertThrows(UserNotFoundException.class, () -> profileService.getProfile(-1L));
+    }
+
+    @Test
+    void entityToStringAndHashCodeLeaveLazyAssociationsAlone() {
+        User user = entityManager.find(User.class, full.getId());
+        UserDetail detail = entityManager.find(UserDetail.class, full.getId());
+        statistics.clear();
+
+        assertNotNull(user.toString());
+        assertNotNull(detail.toString());
+        user.hashCode();
+        detail.hashCode();
+
+        assertFalse(Hibernate.isInitialized(user.getFollowers()));
+        assertFalse(Hibernate.isInitialized(user.getFollowed()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void details(User user) {
+        UserDetail detail = new UserDetail();
+        detail.setUser(user);
+        detail.setFirstName("Ada");
+        detail.setLastName("Lovelace");
+        detail.setAge(36);
+        detail.setGender(Gender.FEMALE);
+        detail.setMaritalStatus(MaritalStatus.MARRIED);
+        entityManager.persist(detail);
+
+        ResidentialDetail residential = new ResidentialDetail();
+        residential.setUser(user);
+        residential.setAddress("1 Main Street");
+        residential.setCity("Pune");
+        residential.setState("MH");
+        residential.setCountry("India");
+        residential.setContactNo1("9999999999");
+        entityManager.persist(residential);
+
+        OfficialDetail official = new OfficialDetail();
+        official.setUser(user);
+        official.setEmployeeCode("E-1");
+        official.setAddress("2 Office Road");
+        official.setCity("Pune");
+        official.setState("MH");
+        official.setCountry("India");
+        official.setCompanyContactNo("8888888888");
+        official.setCompanyContactEmail("hr@acme.example");
+        official.setCompanyName("Acme");
+        entityManager.persist(official);
+    }
+}
@@ -0,0 +1,76 @@
+package com.joshtechnologygroup.minisocial.service;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.cache.LocalUserCacheInvalidationChannel;
+import com.joshtechnologygroup.minisocial.event.PasswordChangedEvent;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final String TEST_MAIL = "test@abc.com";
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, new LocalUserCacheInvalidationChannel(), new ApiConfig(), new SimpleMeterRegistry());
+    }
+
+    private User testUser(String password) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(TEST_MAIL);
+        user.setPassword(password);
+        return user;
+    }
+
+    @Test
+    void repeatedLoadsHitDatabaseOnce() {
+        when(userRepository.findFreshByEmail(TEST_MAIL)).thenReturn(Optional.of(testUser("hash")));
+
+        userDetailsService.loadUserByUsername(TEST_MAIL);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(TEST_MAIL);
+
+        assertEquals("hash", userDetails.getPassword());
+        verify(userRepository, times(1)).findFreshByEmail(TEST_MAIL);
+    }
+
+    @Test
+    void passwordChangeEvictsEntry() {
+        when(userRepository.findFreshByEmail(TEST_MAIL))
+                .thenReturn(Optional.of(testUser("old-hash")))
+                .thenReturn(Optional.of(testUser("new-hash")));
+
+        userDetailsService.loadUserByUsername(TEST_MAIL);
+        userDetailsService.onPasswordChanged(new PasswordChangedEvent(1L, TEST_MAIL, Instant.now()));
+
+        assertEquals("new-hash", userDetailsService.loadUserByUsername(TEST_MAIL).getPassword());
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepository.findFreshByEmail(TEST_MAIL)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(TEST_MAIL));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(TEST_MAIL));
+        verify(userRepository, times(2)).findFreshByEmail(TEST_MAIL);
+    }
+}
@@ -0,0 +1,99 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.repository.UserImportJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Records carry a ready password hash so no test pays for BCrypt
+@SpringBootTest
+@Transactional
+class UserImporterTest {
+    @Autowired
+    private UserImporter userImporter;
+
+    @Autowired
+    private UserImportJdbcRepository importRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resumesAfterCheckpointAndDeletesIt() throws IOException {
+        Path input = write(line("import-0@example.com"), line("import-1@example.com"), line("import-2@example.com"),
+                line("import-3@example.com"), line("import-4@example.com"));
+        Path checkpoint = tempDir.resolve("users.checkpoint");
+        new ImportCheckpoint(checkpoint).write(2);
+
+        UserImporter.Result result = userImporter.importFile(input, RecordFormat.NDJSON, checkpoint, 2, 1, false);
+
+        assertEquals(new UserImporter.Result(5, 3, 0, 2), result);
+        assertEquals(Set.of("import-2@example.com", "import-3@example.com", "import-4@example.com"), existing(5));
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    void reRunSkipsExistingUsers() throws IOException {
+        Path input = write(line("import-0@example.com"), line("IMPORT-0@example.com"), line("import-1@example.com"));
+
+        UserImporter.Result first = userImporter.importFile(input, RecordFormat.NDJSON, tempDir.resolve("first.checkpoint"), 10, 1, false);
+        UserImporter.Result second = userImporter.importFile(input, RecordFormat.NDJSON, tempDir.resolve("second.checkpoint"), 10, 1, false);
+
+        assertEquals(2, first.imported());
+        assertEquals(0, second.imported());
+        assertEquals(Set.of("import-0@example.com", "import-1@example.com"), existing(2));
+    }
+
+    @Test
+    void invalidRecordsAreRejectedNotTruncated() throws IOException {
+        Path input = write(
+                line("import-0@example.com"),
+                "{\"email\":\"import-1@example.com\",\"passwordHash\":\"{noop}x\",\"firstName\":\"" + "x".repeat(256) + "\",\"age\":30,\"gender\":\"MALE\"}",
+                "{\"email\":\"import-2@example.com\",\"passwordHash\":\"{noop}x\",\"firstName\":\"Ada\",\"age\":30,\"gender\":\"OTHER\"}",
+                "{\"email\":\"import-3@example.com\",\"passwordHash\":\"{noop}x\",\"firstName\":\"Ada\",\"age\":-1,\"gender\":\"MALE\"}",
+                "{\"email\":\"import-4@example.com\"}",
+                "{\"email\":\"not-an-email\",\"passwordHash\":\"{noop}x\"}");
+
+        UserImporter.Result result = userImporter.importFile(input, RecordFormat.NDJSON, tempDir.resolve("users.checkpoint"), 10, 1, false);
+
+        assertEquals(new UserImporter.Result(6, 1, 5, 0), result);
+        assertEquals(Set.of("import-0@example.com"), existing(5));
+    }
+
+    @Test
+    void batchSizeIsCappedByThePlaceholderLimit() throws IOException {
+        Path input = write(line("import-0@example.com"));
+        Path checkpoint = tempDir.resolve("users.checkpoint");
+
+        assertThrows(IllegalArgumentException.class, () -> userImporter.importFile(input, RecordFormat.NDJSON, checkpoint,
+                UserImportJdbcRepository.MAX_ROWS_PER_STATEMENT + 1, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> userImporter.importFile(input, RecordFormat.NDJSON, checkpoint, 0, 1, false));
+    }
+
+    private static String line(String email) {
+        return "{\"email\":\"" + email + "\",\"passwordHash\":\"{noop}unused\",\"firstName\":\"Ada\",\"age\":36,\"gender\":\"FEMALE\"}";
+    }
+
+    private Path write(String... lines) throws IOException {
+        return Files.write(tempDir.resolve("users.ndjson"), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    // Which of import-0 .. import-(count - 1) exist
+    private Set<String> existing(int count) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) emails.add("import-" + i + "@example.com");
+        return importRepository.findIdsByEmail(emails).keySet();
+    }
+}
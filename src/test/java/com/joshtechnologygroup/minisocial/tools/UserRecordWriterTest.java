@@ -0,0 +1,127 @@
+package com.joshtechnologygroup.minisocial.tools;
+
+import com.joshtechnologygroup.minisocial.enums.Gender;
+import com.joshtechnologygroup.minisocial.enums.MaritalStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Writer output is read back with UserRecordReader, so an export can always be re-imported
+class UserRecordWriterTest {
+    private static final UserRecord FULL = new UserRecord(1L, "ada@example.com", null, "{bcrypt}hash", true,
+            "Ada", "Lovelace", 36, Gender.FEMALE, MaritalStatus.MARRIED,
+            "1 Main Street, \"Flat 2\"", "Pune", "MH", "India", "9999999999", null,
+            "E-1", "2 Office Road", "Pune", "MH", "India", "8888888888", "hr@acme.example", "Acme, Inc.");
+    private static final UserRecord BARE = new UserRecord(2L, "bare@example.com", null, "{bcrypt}other", false,
+            null, null, null, null, null,
+            null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null);
+    // Quoted fields spanning lines, including an empty one
+    private static final UserRecord MULTI_LINE = new UserRecord(3L, "multi@example.com", null, "{bcrypt}third", true,
+            "Grace", null, null, null, null,
+            "Flat 2\n1 Main Street, \"East\"\n\nPune", "Pune", null, null, null, null,
+            null, null, null, null, null, null, null, "Acme\nLabs");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ndjsonRoundTrip() throws IOException {
+        assertEquals(List.of(FULL, BARE), roundTrip("users.ndjson", RecordFormat.NDJSON, false));
+    }
+
+    @Test
+    void csvRoundTripWithQuotedFields() throws IOException {
+        assertEquals(List.of(FULL, BARE), roundTrip("users.csv", RecordFormat.CSV, false));
+    }
+
+    @Test
+    void gzippedRoundTrip() throws IOException {
+        assertEquals(List.of(FULL, BARE), roundTrip("users.csv.gz", RecordFormat.CSV, true));
+    }
+
+    @Test
+    void csvRoundTripWithLineBreaksInFields() throws IOException {
+        Path file = write("users.csv", RecordFormat.CSV, false, FULL, MULTI_LINE, BARE);
+
+        assertEquals(List.of(FULL, MULTI_LINE, BARE), readAll(file, RecordFormat.CSV));
+    }
+
+    @Test
+    void skipCountsMultiLineCsvRecordsOnce() throws IOException {
+        Path file = write("users.csv", RecordFormat.CSV, false, MULTI_LINE, FULL, BARE);
+
+        try (UserRecordReader reader = new UserRecordReader(file, RecordFormat.CSV, objectMapper)) {
+            reader.skip(2);
+            assertEquals(BARE, reader.next());
+            assertNull(reader.next());
+            assertEquals(8, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    void unterminatedQuotedFieldIsRejected() throws IOException {
+        Path file = tempDir.resolve("users.csv");
+        Files.writeString(file, "email,password\n\"open@example.com,secret\n");
+
+        try (UserRecordReader reader = new UserRecordReader(file, RecordFormat.CSV, objectMapper)) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(e.getMessage().contains("unterminated quoted field"), e.getMessage());
+        }
+    }
+
+    @Test
+    void csvStartsWithHeader() throws IOException {
+        Path file = write("users.csv", RecordFormat.CSV, false, FULL, BARE);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(String.join(",", UserRecord.COLUMNS), lines.get(0));
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    void finishLeavesStreamOpen() throws IOException {
+        Path file = tempDir.resolve("users.ndjson");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            UserRecordWriter writer = new UserRecordWriter(out, RecordFormat.NDJSON, false, objectMapper);
+            writer.write(FULL);
+            writer.finish();
+            out.write('\n');
+            assertEquals(1, writer.getWritten());
+        }
+    }
+
+    private List<UserRecord> roundTrip(String fileName, RecordFormat format, boolean gzip) throws IOException {
+        return readAll(write(fileName, format, gzip, FULL, BARE), format);
+    }
+
+    private List<UserRecord> readAll(Path file, RecordFormat format) throws IOException {
+        List<UserRecord> records = new ArrayList<>();
+        try (UserRecordReader reader = new UserRecordReader(file, format, objectMapper)) {
+            UserRecord record;
+            while ((record = reader.next()) != null) records.add(record);
+        }
+        return records;
+    }
+
+    private Path write(String fileName, RecordFormat format, boolean gzip, UserRecord... records) throws IOException {
+        Path file = tempDir.resolve(fileName);
+        try (UserRecordWriter writer = new UserRecordWriter(Files.newOutputStream(file), format, gzip, objectMapper)) {
+            for (UserRecord record : records) writer.write(record);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,118 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import com.joshtechnologygroup.minisocial.exception.GlobalExceptionHandler;
+import com.joshtechnologygroup.minisocial.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One hashing thread and a queue of one: a blocked task plus a queued one saturate the encoder
+class BoundedPasswordEncoderTest {
+    private static final long RETRY_AFTER_SECONDS = 7;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, RETRY_AFTER_SECONDS, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void runsOnTheHashingPool() {
+        release.countDown();
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        saturate();
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, () -> encoder.encode("third"));
+        assertEquals(RETRY_AFTER_SECONDS, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void queueFullIsServiceUnavailableWithRetryAfter() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new HashingController(encoder))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        saturate();
+
+        mockMvc.perform(post("/hash"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS)))
+                .andExpect(jsonPath("$.title").value("Service Unavailable"));
+    }
+
+    // Occupies the only thread and the only queue slot
+    private void saturate() throws InterruptedException {
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> encoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "second task was never queued");
+            Thread.onSpinWait();
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    }
+
+    @RestController
+    static class HashingController {
+        private final PasswordEncoder encoder;
+
+        HashingController(PasswordEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        @PostMapping("/hash")
+        public String hash() {
+            return encoder.encode("password");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvUtilTest {
+
+    @Test
+    void parsePlainFields() {
+        assertEquals(List.of("a", "b", "", "d"), CsvUtil.parseLine("a,b,,d"));
+    }
+
+    @Test
+    void parseQuotedFields() {
+        assertEquals(List.of("a,b", "say \"hi\"", "c"), CsvUtil.parseLine("\"a,b\",\"say \"\"hi\"\"\",c"));
+    }
+
+    @Test
+    void escapeRoundTrip() {
+        String value = "Pune, \"MH\"";
+        assertEquals(List.of(value, "x"), CsvUtil.parseLine(CsvUtil.escape(value) + ",x"));
+    }
+}
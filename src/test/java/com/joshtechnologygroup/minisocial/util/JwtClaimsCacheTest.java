@@ -0,0 +1,45 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtClaimsCacheTest {
+    private JwtUtil jwtUtil;
+    private JwtClaimsCache claimsCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final String TEST_MAIL = "test@abc.com";
+
+    @BeforeEach
+    void setUp() {
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.setJwtKey("uOG/GhZwQ8xGxZJ/kpez1kivocjQAm6XY2D4px/VGqQ=");
+        apiConfig.setJwtExpiry(1000 * 60 * 60 * 4);
+        apiConfig.setJwtCacheMaxSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtUtil = new JwtUtil(apiConfig);
+        claimsCache = new JwtClaimsCache(jwtUtil, apiConfig, meterRegistry);
+    }
+
+    @Test
+    void repeatedLookupIsServedFromCache() {
+        String token = jwtUtil.generateToken(TEST_MAIL, 1L);
+
+        assertEquals(TEST_MAIL, claimsCache.getClaims(token).getSubject());
+        assertEquals(TEST_MAIL, claimsCache.getClaims(token).getSubject());
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void invalidTokenIsNotCached() {
+        assertThrows(JwtException.class, () -> claimsCache.getClaims("not-a-token"));
+        assertThrows(JwtException.class, () -> claimsCache.getClaims("not-a-token"));
+    }
+}
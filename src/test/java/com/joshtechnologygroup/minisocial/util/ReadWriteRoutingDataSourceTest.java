@@ -0,0 +1,103 @@
+package com.joshtechnologygroup.minisocial.util;
+
+import com.joshtechnologygroup.minisocial.dto.AuthenticatedUser;
+import com.joshtechnologygroup.minisocial.web.config.ApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two in-memory H2 databases stand in for the primary and the replica, each knows its own name
+class ReadWriteRoutingDataSourceTest {
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        ApiConfig apiConfig = new ApiConfig();
+        apiConfig.setReplicaStickiness(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+
+        DataSource routing = new ReadWriteRoutingDataSource(database("primary"), database("replica"), new ReadYourWrites(apiConfig), meterRegistry);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+        // Outside of a transaction nothing is known about the intent
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void writerReadsFromPrimaryDuringStickinessWindow() throws InterruptedException {
+        authenticate("writer@example.com");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+        assertEquals(1.0, meterRegistry.get("datasource.routing").tag("target", "primary_sticky").counter().count());
+
+        authenticate("someone-else@example.com");
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+
+        Thread.sleep(400);
+        authenticate("writer@example.com");
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void rolledBackOrAnonymousWritesDoNotStick() {
+        authenticate("writer@example.com");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+
+        SecurityContextHolder.clearContext();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET writes = writes + 1"));
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static void authenticate(String email) {
+        AuthenticatedUser principal = new AuthenticatedUser(1L, email);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS marker");
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20), writes INT)");
+        jdbc.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
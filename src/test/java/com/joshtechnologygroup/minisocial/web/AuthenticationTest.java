@@ -9,12 +9,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import tools.jackson.databind.ObjectMapper;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,4 +87,33 @@ class AuthenticationTest {
                         .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void authenticateUser_RehashesLowerCostHash() throws Exception {
+        assertRehashedOnLogin("cheap@example.com", "{bcrypt}" + new BCryptPasswordEncoder(4).encode(TEST_PASSWORD));
+    }
+
+    @Test
+    void authenticateUser_RehashesLegacyHashWithoutPrefix() throws Exception {
+        assertRehashedOnLogin("legacy@example.com", new BCryptPasswordEncoder(4).encode(TEST_PASSWORD));
+    }
+
+    private void assertRehashedOnLogin(String email, String oldHash) throws Exception {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(oldHash);
+        user.setActive(true);
+        userRepository.saveAndFlush(user);
+        assertTrue(passwordEncoder.upgradeEncoding(oldHash));
+
+        mockMvc.perform(post("/api/user/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserLogin(email, TEST_PASSWORD))))
+                .andExpect(status().isOk());
+
+        String newHash = userRepository.findFreshByEmail(email).orElseThrow().getPassword();
+        assertNotEquals(oldHash, newHash);
+        assertFalse(passwordEncoder.upgradeEncoding(newHash));
+        assertTrue(passwordEncoder.matches(TEST_PASSWORD, newHash));
+    }
 }
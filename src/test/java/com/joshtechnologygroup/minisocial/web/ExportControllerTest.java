@@ -0,0 +1,70 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "api.service.export-api-enabled=true",
+        "api.service.admin-emails=export-admin@example.com"
+})
+@AutoConfigureMockMvc
+@Transactional
+class ExportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void normalUserIsForbidden() throws Exception {
+        String token = token("export-user@example.com");
+
+        mockMvc.perform(get("/api/export/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void anonymousIsForbidden() throws Exception {
+        mockMvc.perform(get("/api/export/users"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanExport() throws Exception {
+        String token = token("export-admin@example.com");
+
+        MvcResult result = mockMvc.perform(get("/api/export/users")
+                        .param("gzip", "false")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    private String token(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        userRepository.save(user);
+        return jwtUtil.generateToken(email, user.getId());
+    }
+}
@@ -0,0 +1,165 @@
+package com.joshtechnologygroup.minisocial.web;
+
+import com.joshtechnologygroup.minisocial.bean.User;
+import com.joshtechnologygroup.minisocial.repository.UserRepository;
+import com.joshtechnologygroup.minisocial.service.FollowService;
+import com.joshtechnologygroup.minisocial.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class FollowControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User celebrity;
+    private List<Long> fans;
+    private String authToken;
+
+    // Three fans follow the celebrity, fans are created in id order
+    @BeforeEach
+    void setUp() {
+        celebrity = user("keyset-celebrity@example.com");
+        fans = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User fan = user("keyset-fan-" + i + "@example.com");
+            followService.follow(fan.getId(), celebrity.getId());
+            fans.add(fan.getId());
+        }
+        authToken = "Bearer " + jwtUtil.generateToken(celebrity.getEmail(), celebrity.getId());
+    }
+
+    @Test
+    void followersArePagedByCursor() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/followers", celebrity.getId())
+                        .param("limit", "2")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(fans.get(0)))
+                .andExpect(jsonPath("$.items[1].id").value(fans.get(1)))
+                .andExpect(jsonPath("$.nextCursor").value(fans.get(1)));
+
+        mockMvc.perform(get("/api/user/{id}/followers", celebrity.getId())
+                        .param("after", fans.get(1).toString())
+                        .param("limit", "2")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(fans.get(2)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/followers", celebrity.getId())
+                        .param("limit", "3")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void followingIsPagedByCursor() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/following", fans.get(0))
+                        .param("limit", "1")
+                        .header("Authorization", authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(celebrity.getId()))
+                .andExpect(jsonPath("$.items[0].email").value("keyset-celebrity@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void limitBelowOneIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/followers", celebrity.getId())
+                        .param("limit", "0")
+                        .header("Authorization", authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Validation Failed"))
+                .andExpect(jsonPath("$.invalid_params.limit").exists());
+    }
+
+    @Test
+    void limitAboveMaximumIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/following", celebrity.getId())
+                        .param("limit", "1000")
+                        .header("Authorization", authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.invalid_params.limit").exists());
+    }
+
+    @Test
+    void negativeCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/user/{id}/followers", celebrity.getId())
+                        .param("after", "-1")
+                        .header("Authorization", authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.invalid_params.after").exists());
+    }
+
+    @Test
+    void bulkFollowIsCappedAt500Ids() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/user/follow/bulk")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[" + ids + "]}"))
+                .andExpect(status().isUnprocessableContent())
+                .andExpect(jsonPath("$.invalid_params.userIds").exists());
+    }
+
+    @Test
+    void bulkFollowReturnsCreatedIds() throws Exception {
+        User other = user("keyset-other@example.com");
+
+        mockMvc.perform(post("/api/user/follow/bulk")
+                        .header("Authorization", authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[" + other.getId() + "," + celebrity.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.changed", hasSize(1)))
+                .andExpect(jsonPath("$.changed[0]").value(other.getId()));
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}unused");
+        user.setActive(true);
+        return userRepository.saveAndFlush(user);
+    }
+}